@@ -5,32 +5,55 @@ import com.vitproject.model.Student;
 import com.vitproject.model.Course;
 import com.vitproject.model.Grade;
 import com.vitproject.model.Instructor;
+import com.vitproject.model.JobRun;
+import com.vitproject.model.BulkReportSummary;
+import com.vitproject.model.Page;
+import com.vitproject.model.StudentGpa;
 import com.vitproject.service.StudentService;
 import com.vitproject.service.CourseService;
+import com.vitproject.service.GpaService;
 import com.vitproject.service.GradeService;
 import com.vitproject.service.ReportService;
+import com.vitproject.task.JobScheduler;
+import com.vitproject.task.MisfirePolicy;
 import com.vitproject.task.TaskManager;
+import com.vitproject.task.Trigger;
 import com.vitproject.exception.CustomException;
+import com.vitproject.util.ClassLogger;
 import com.vitproject.util.DatabaseConnection;
 import com.vitproject.util.Logger;
+import com.vitproject.util.SystemProperties;
 
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.List;
 import java.util.Scanner;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Main application class
  * Demonstrates all Java concepts covered in the course
  */
 public class Main {
+    private static final ClassLogger LOG = Logger.forClass(Main.class);
     private static Scanner scanner = new Scanner(System.in);
     private static StudentService studentService;
     private static CourseService courseService;
     private static GradeService gradeService;
+    private static GpaService gpaService;
     private static ReportService reportService;
+    private static JobScheduler jobScheduler;
+    private static final int STUDENT_PAGE_SIZE = 20;
     
     public static void main(String[] args) {
-        Logger.info("=== Student Management System Started ===");
+        Logger.enableAsyncFromSystemProperties();
+        LOG.info("=== Student Management System Started ===");
         
         try {
             // Initialize database
@@ -40,8 +63,22 @@ public class Main {
             studentService = new StudentService();
             courseService = new CourseService();
             gradeService = new GradeService();
+            gpaService = new GpaService();
             reportService = new ReportService();
             
+            // Recurring report jobs (-Dscheduler.enabled=false to turn them off)
+            if (Boolean.parseBoolean(System.getProperty("scheduler.enabled", "true"))) {
+                try {
+                    startJobScheduler();
+                } catch (RuntimeException e) {
+                    LOG.error("Job scheduler not started: " + e.getMessage());
+                    if (jobScheduler != null) {
+                        jobScheduler.shutdown();
+                        jobScheduler = null;
+                    }
+                }
+            }
+            
             // Demonstrate polymorphism with Person/Instructor
             demonstratePolymorphism();
             
@@ -75,7 +112,7 @@ public class Main {
                         break;
                     case 0:
                         running = false;
-                        Logger.info("Application shutting down...");
+                        LOG.info("Application shutting down...");
                         break;
                     default:
                         System.out.println("Invalid choice. Please try again.");
@@ -83,13 +120,17 @@ public class Main {
             }
             
         } catch (Exception e) {
-            Logger.error("Fatal error: " + e.getMessage());
+            LOG.error("Fatal error: " + e.getMessage());
             e.printStackTrace();
         } finally {
             // Cleanup
+            if (jobScheduler != null) {
+                jobScheduler.shutdown();
+            }
             DatabaseConnection.closeConnection();
             scanner.close();
-            Logger.info("=== Student Management System Terminated ===");
+            LOG.info("=== Student Management System Terminated ===");
+            Logger.shutdown();
         }
     }
     
@@ -118,6 +159,7 @@ public class Main {
             System.out.println("4. Update Student");
             System.out.println("5. Delete Student");
             System.out.println("6. Search Students");
+            System.out.println("7. View Student by Email");
             System.out.println("0. Back to Main Menu");
             
             int choice = getIntInput("Enter your choice: ");
@@ -142,6 +184,9 @@ public class Main {
                     case 6:
                         searchStudents();
                         break;
+                    case 7:
+                        viewStudentByEmail();
+                        break;
                     case 0:
                         back = true;
                         break;
@@ -168,15 +213,18 @@ public class Main {
     
     private static void viewAllStudents() throws CustomException {
         System.out.println("\n--- All Students ---");
-        List<Student> students = studentService.getAllStudents();
+        Page<Student> page = studentService.getStudentsPage(null, STUDENT_PAGE_SIZE);
         
-        if (students.isEmpty()) {
+        if (page.isEmpty()) {
             System.out.println("No students found.");
-        } else {
-            System.out.printf("%-10s %-20s %-30s %-15s %-20s%n", 
-                    "ID", "Name", "Email", "Date of Birth", "Department");
-            System.out.println("-".repeat(95));
-            for (Student student : students) {
+            return;
+        }
+        
+        System.out.printf("%-10s %-20s %-30s %-15s %-20s%n", 
+                "ID", "Name", "Email", "Date of Birth", "Department");
+        System.out.println("-".repeat(95));
+        while (true) {
+            for (Student student : page.getItems()) {
                 System.out.printf("%-10d %-20s %-30s %-15s %-20s%n",
                         student.getStudentId(),
                         student.getName(),
@@ -184,6 +232,15 @@ public class Main {
                         student.getDateOfBirth(),
                         student.getDepartment());
             }
+            
+            if (!page.hasNext()) {
+                break;
+            }
+            String input = getStringInput("-- Press Enter for the next page, or q to stop: ");
+            if (input.equalsIgnoreCase("q")) {
+                break;
+            }
+            page = studentService.getStudentsPage(page.getNextCursor(), STUDENT_PAGE_SIZE);
         }
     }
     
@@ -195,6 +252,14 @@ public class Main {
         System.out.println("Age: " + student.calculateAge());
     }
     
+    private static void viewStudentByEmail() throws CustomException {
+        String email = getStringInput("Enter student email: ");
+        Student student = studentService.getStudentByEmail(email);
+        System.out.println("\n--- Student Details ---");
+        System.out.println(student);
+        System.out.println("Age: " + student.calculateAge());
+    }
+    
     private static void updateStudent() throws CustomException {
         int id = getIntInput("Enter student ID to update: ");
         Student student = studentService.getStudent(id);
@@ -341,6 +406,9 @@ public class Main {
             System.out.println("3. View Course Grades");
             System.out.println("4. Update Grade");
             System.out.println("5. Delete Grade");
+            System.out.println("6. Add Grades for a Course (bulk)");
+            System.out.println("7. View Student CGPA");
+            System.out.println("8. Rank Students by CGPA");
             System.out.println("0. Back to Main Menu");
             
             int choice = getIntInput("Enter your choice: ");
@@ -362,6 +430,15 @@ public class Main {
                     case 5:
                         deleteGrade();
                         break;
+                    case 6:
+                        addCourseGrades();
+                        break;
+                    case 7:
+                        viewStudentGpa();
+                        break;
+                    case 8:
+                        rankStudents();
+                        break;
                     case 0:
                         back = true;
                         break;
@@ -384,6 +461,63 @@ public class Main {
         System.out.println("Grade added successfully! Grade: " + grade.getGrade());
     }
     
+    private static void viewStudentGpa() throws CustomException {
+        System.out.println("\n--- Student CGPA ---");
+        int studentId = getIntInput("Enter student ID: ");
+        StudentGpa gpa = gpaService.getStudentGpa(studentId);
+        System.out.println("\n" + gpa.getStudentName() + " (" + gpa.getDepartment() + ")");
+        System.out.println("Courses graded: " + gpa.getGradedCourses());
+        System.out.println("Credits: " + gpa.getTotalCredits());
+        System.out.println("CGPA: " + String.format("%.2f", gpa.getCgpa()));
+    }
+    
+    private static void rankStudents() throws CustomException {
+        System.out.println("\n--- CGPA Ranking ---");
+        String department = getStringInput("Enter department (press Enter for all students): ");
+        int limit = getIntInput("How many top students? ");
+        
+        List<StudentGpa> ranking = gpaService.rankStudents(department, limit);
+        if (ranking.isEmpty()) {
+            System.out.println("No graded students found.");
+            return;
+        }
+        System.out.printf("%n%-5s %-6s %-25s %-20s %7s %6s%n",
+                "Rank", "ID", "Name", "Department", "Credits", "CGPA");
+        for (int i = 0; i < ranking.size(); i++) {
+            StudentGpa gpa = ranking.get(i);
+            System.out.printf("%-5d %-6d %-25s %-20s %7d %6.2f%n", i + 1, gpa.getStudentId(),
+                    gpa.getStudentName(), gpa.getDepartment(), gpa.getTotalCredits(), gpa.getCgpa());
+        }
+    }
+    
+    private static void addCourseGrades() throws CustomException {
+        System.out.println("\n--- Add Grades for a Course ---");
+        int courseId = getIntInput("Enter course ID: ");
+        Map<Integer, Double> marksByStudent = new LinkedHashMap<>();
+        
+        System.out.println("Enter student ID and marks for each student (blank student ID to finish).");
+        while (true) {
+            String input = getStringInput("Student ID: ");
+            if (input.isEmpty()) {
+                break;
+            }
+            try {
+                int studentId = Integer.parseInt(input);
+                marksByStudent.put(studentId, getDoubleInput("Marks (0-100): "));
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid input. Please enter a valid number.");
+            }
+        }
+        
+        if (marksByStudent.isEmpty()) {
+            System.out.println("No grades entered.");
+            return;
+        }
+        
+        List<Grade> grades = gradeService.addGrades(courseId, marksByStudent);
+        System.out.println(grades.size() + " grades added successfully!");
+    }
+    
     private static void viewStudentGrades() throws CustomException {
         int studentId = getIntInput("Enter student ID: ");
         List<Grade> grades = gradeService.getStudentGrades(studentId);
@@ -442,6 +576,11 @@ public class Main {
             System.out.println("\n--- Reports ---");
             System.out.println("1. Generate Student Report");
             System.out.println("2. Generate Summary Report");
+            System.out.println("3. Generate Transcripts (all students or one department)");
+            System.out.println("4. Generate Course Report");
+            System.out.println("5. Generate Marks Distribution Report");
+            System.out.println("6. View Scheduled Jobs");
+            System.out.println("7. Run Scheduled Job Now");
             System.out.println("0. Back to Main Menu");
             
             int choice = getIntInput("Enter your choice: ");
@@ -457,6 +596,25 @@ public class Main {
                         reportService.generateSummaryReport();
                         System.out.println("Summary report generated successfully! Check the reports/ directory.");
                         break;
+                    case 3:
+                        generateTranscripts();
+                        break;
+                    case 4:
+                        int courseId = getIntInput("Enter course ID: ");
+                        boolean compress = getStringInput("Compress with gzip? (y/n): ").equalsIgnoreCase("y");
+                        Path reportFile = reportService.generateCourseReport(courseId, compress);
+                        System.out.println("Course report generated: " + reportFile);
+                        break;
+                    case 5:
+                        Path distributionFile = reportService.generateDistributionReport();
+                        System.out.println("Distribution report generated: " + distributionFile);
+                        break;
+                    case 6:
+                        viewScheduledJobs();
+                        break;
+                    case 7:
+                        runScheduledJob();
+                        break;
                     case 0:
                         back = true;
                         break;
@@ -469,6 +627,126 @@ public class Main {
         }
     }
     
+    /**
+     * Register the scheduled report jobs and start the scheduler
+     * Schedules are cron expressions or "every <period>" (see Trigger.parse):
+     * -Dscheduler.summaryReport (default daily at 02:00), -Dscheduler.transcripts
+     * (default Sundays at 02:30), -Dscheduler.misfirePolicy=RUN_ONCE|SKIP.
+     */
+    private static void startJobScheduler() {
+        MisfirePolicy misfirePolicy = SystemProperties.getEnum("scheduler.misfirePolicy", MisfirePolicy.class,
+                MisfirePolicy.RUN_ONCE);
+        jobScheduler = new JobScheduler();
+        
+        jobScheduler.register("summary-report",
+                scheduleProperty("scheduler.summaryReport", "0 2 * * *"), misfirePolicy, () -> {
+                    reportService.generateSummaryReport();
+                    return "Summary report generated";
+                });
+        jobScheduler.register("department-transcripts",
+                scheduleProperty("scheduler.transcripts", "30 2 * * 0"), misfirePolicy, () -> {
+                    Map<String, BulkReportSummary> summaries = reportService.generateTranscriptsByDepartment();
+                    int written = summaries.values().stream().mapToInt(BulkReportSummary::getSucceeded).sum();
+                    int failed = summaries.values().stream().mapToInt(BulkReportSummary::getFailed).sum();
+                    return written + " transcripts written for " + summaries.size() + " departments" +
+                            (failed > 0 ? ", " + failed + " failed" : "");
+                });
+        
+        jobScheduler.start();
+    }
+    
+    /**
+     * Trigger from a schedule setting, falling back to the default schedule if the setting does not parse
+     */
+    private static Trigger scheduleProperty(String key, String defaultSpec) {
+        String spec = System.getProperty(key, defaultSpec);
+        try {
+            return Trigger.parse(spec);
+        } catch (IllegalArgumentException e) {
+            LOG.error("Invalid schedule for -D" + key + " (" + e.getMessage() + "); using \"" + defaultSpec + "\"");
+            return Trigger.parse(defaultSpec);
+        }
+    }
+    
+    private static void viewScheduledJobs() throws CustomException {
+        if (jobScheduler == null) {
+            System.out.println("Job scheduler is disabled (-Dscheduler.enabled=false).");
+            return;
+        }
+        
+        Map<String, JobRun> lastRuns = new LinkedHashMap<>();
+        try {
+            for (JobRun run : jobScheduler.getLastRuns()) {
+                lastRuns.put(run.getJobName(), run);
+            }
+        } catch (Exception e) {
+            throw new CustomException("Failed to read job history: " + e.getMessage(), e);
+        }
+        
+        System.out.println("\n--- Scheduled Jobs ---");
+        for (String name : jobScheduler.getJobNames()) {
+            Instant nextFireTime = jobScheduler.getNextFireTime(name);
+            System.out.println(name + (jobScheduler.isRunning(name) ? " (running)" : ""));
+            System.out.println("  Next run: " + (nextFireTime != null ? nextFireTime : "not scheduled"));
+            JobRun lastRun = lastRuns.get(name);
+            System.out.println("  Last run: " + (lastRun != null ? lastRun.getStatus() +
+                    (lastRun.isManual() ? " (manual run, started " + lastRun.getStartedAt() + ")"
+                            : " for " + lastRun.getScheduledAt()) +
+                    (lastRun.getMessage() != null ? " - " + lastRun.getMessage() : "")
+                    : "never"));
+        }
+    }
+    
+    private static void runScheduledJob() {
+        if (jobScheduler == null) {
+            System.out.println("Job scheduler is disabled (-Dscheduler.enabled=false).");
+            return;
+        }
+        
+        List<String> names = jobScheduler.getJobNames();
+        for (int i = 0; i < names.size(); i++) {
+            System.out.println((i + 1) + ". " + names.get(i));
+        }
+        int choice = getIntInput("Enter job number: ");
+        if (choice < 1 || choice > names.size()) {
+            System.out.println("Invalid choice.");
+            return;
+        }
+        
+        String name = names.get(choice - 1);
+        if (jobScheduler.runNow(name)) {
+            System.out.println("Job " + name + " started in the background; see logs/application.log.");
+        } else {
+            System.out.println("Job " + name + " is already running.");
+        }
+    }
+    
+    private static void generateTranscripts() throws CustomException {
+        String department = getStringInput("Enter department (press Enter for all students): ");
+        
+        int[] lastPercent = {-1};
+        BulkReportSummary summary = reportService.generateTranscripts(department, (completed, failed, total) -> {
+            int percent = total == 0 ? 100 : (completed + failed) * 100 / total;
+            synchronized (lastPercent) {
+                if (percent > lastPercent[0]) {
+                    lastPercent[0] = percent;
+                    System.out.print("\rProgress: " + (completed + failed) + "/" + total + " (" + percent + "%)");
+                }
+            }
+        });
+        
+        System.out.println();
+        System.out.println("Transcripts written: " + summary.getSucceeded() + " of " + summary.getTotal() +
+                " in " + summary.getElapsedMillis() + " ms");
+        System.out.println("Output directory: " + summary.getOutputDirectory());
+        if (summary.getFailed() > 0) {
+            System.out.println("Failed: " + summary.getFailed() + " (see logs/application.log)");
+            summary.getFailures().entrySet().stream()
+                    .limit(10)
+                    .forEach(failure -> System.out.println("  Student " + failure.getKey() + ": " + failure.getValue()));
+        }
+    }
+    
     private static void demonstrateCollections() {
         System.out.println("\n--- Collections Framework Demonstration ---");
         
@@ -508,13 +786,29 @@ public class Main {
             }
             
             System.out.println("Processing " + students.size() + " students using multithreading...");
-            TaskManager taskManager = new TaskManager(3); // 3 threads
-            taskManager.processStudentsConcurrently(students);
+            TaskManager taskManager = new TaskManager(3); // 3 threads, or virtual threads with -Dtask.executionMode=VIRTUAL
+            System.out.println("Execution mode: " + taskManager.getExecutionMode() +
+                    " (max " + taskManager.getMaxConcurrency() + " tasks at once)");
+            // Students with many grades weigh more, so they are spread over more, smaller batches
+            Map<Integer, Integer> gradeCounts = gradeService.getGradeCountsByStudent();
+            CompletableFuture<List<Integer>> processing = taskManager.processStudentsConcurrently(students,
+                    student -> 1 + gradeCounts.getOrDefault(student.getStudentId(), 0),
+                    (completed, failed, total) -> System.out.println("  Students finished: " + (completed + failed) +
+                            "/" + total));
             
-            // Wait a bit for tasks to complete
-            Thread.sleep(2000);
-            
-            taskManager.shutdown();
+            // Wait for every task instead of guessing how long they take
+            try {
+                List<Integer> processed = processing.get(60, TimeUnit.SECONDS);
+                int names = processed.stream().mapToInt(Integer::intValue).sum();
+                System.out.println("Processed " + names + " student names in " + processed.size() + " tasks.");
+            } catch (ExecutionException e) {
+                System.out.println("Processing failed: " + e.getCause().getMessage());
+            } catch (TimeoutException e) {
+                processing.cancel(true);
+                System.out.println("Processing did not finish within 60 seconds and was cancelled.");
+            } finally {
+                taskManager.shutdown();
+            }
             System.out.println("Multithreading demonstration completed. Check logs for details.");
             
         } catch (CustomException | InterruptedException e) {
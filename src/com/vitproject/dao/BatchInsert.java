@@ -0,0 +1,113 @@
+package com.vitproject.dao;
+
+import com.vitproject.exception.DatabaseException;
+import com.vitproject.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Shared JDBC batching used by the DAOs' createAll methods
+ * Rows are sent with addBatch/executeBatch and committed once per batch
+ * (or once overall when called inside a TransactionTemplate scope).
+ */
+final class BatchInsert {
+    static final int DEFAULT_BATCH_SIZE = Integer.getInteger("db.batchSize", 500);
+    
+    private BatchInsert() {}
+    
+    @FunctionalInterface
+    interface ParameterBinder<T> {
+        void bind(PreparedStatement pstmt, T item) throws SQLException;
+    }
+    
+    @FunctionalInterface
+    interface KeyAssigner<T> {
+        void assign(T item, int generatedId);
+    }
+    
+    /**
+     * Insert all items and write the generated keys back onto them
+     */
+    static <T> int insertAll(Collection<T> items, String sql, int batchSize,
+                             ParameterBinder<T> binder, KeyAssigner<T> keyAssigner)
+            throws SQLException, DatabaseException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        
+        int inserted = 0;
+        List<T> batch = new ArrayList<>(Math.min(batchSize, items.size()));
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            
+            for (T item : items) {
+                binder.bind(pstmt, item);
+                pstmt.addBatch();
+                batch.add(item);
+                
+                if (batch.size() == batchSize) {
+                    inserted += flush(conn, pstmt, batch, keyAssigner);
+                    batch.clear();
+                }
+            }
+            
+            if (!batch.isEmpty()) {
+                inserted += flush(conn, pstmt, batch, keyAssigner);
+            }
+        }
+        
+        return inserted;
+    }
+    
+    private static <T> int flush(Connection conn, PreparedStatement pstmt, List<T> batch,
+                                 KeyAssigner<T> keyAssigner) throws SQLException, DatabaseException {
+        int[] counts = pstmt.executeBatch();
+        assignKeys(conn, pstmt, batch, keyAssigner);
+        DatabaseConnection.commit(conn);
+        
+        int rows = 0;
+        for (int count : counts) {
+            rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return rows;
+    }
+    
+    private static <T> void assignKeys(Connection conn, PreparedStatement pstmt, List<T> batch,
+                                       KeyAssigner<T> keyAssigner) throws SQLException {
+        List<Integer> keys = new ArrayList<>(batch.size());
+        try (ResultSet rs = pstmt.getGeneratedKeys()) {
+            while (rs != null && rs.next()) {
+                keys.add(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            keys.clear(); // Driver does not report batch keys; derive them below
+        }
+        
+        if (keys.size() == batch.size()) {
+            for (int i = 0; i < batch.size(); i++) {
+                keyAssigner.assign(batch.get(i), keys.get(i));
+            }
+            return;
+        }
+        
+        // SQLite reports only the last rowid. The batch ran on one connection
+        // holding the write lock, so its AUTOINCREMENT ids are consecutive.
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT last_insert_rowid()");
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                int firstId = rs.getInt(1) - batch.size() + 1;
+                for (int i = 0; i < batch.size(); i++) {
+                    keyAssigner.assign(batch.get(i), firstId + i);
+                }
+            }
+        }
+    }
+}
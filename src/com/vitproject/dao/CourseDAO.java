@@ -2,18 +2,39 @@ package com.vitproject.dao;
 
 import com.vitproject.model.Course;
 import com.vitproject.exception.DatabaseException;
+import com.vitproject.util.CacheStats;
+import com.vitproject.util.ClassLogger;
 import com.vitproject.util.DatabaseConnection;
 import com.vitproject.util.Logger;
+import com.vitproject.util.LruCache;
+import com.vitproject.util.TransactionTemplate;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Course
  * Demonstrates JDBC CRUD operations
+ *
+ * read and readAll go through a read-through LRU cache shared by all
+ * instances (-Dcache.course.maxSize, -Dcache.course.ttlSeconds). Writes
+ * invalidate the affected entries once they commit. Inside a transaction
+ * the cache is bypassed so the transaction sees its own changes.
  */
 public class CourseDAO {
+    private static final ClassLogger LOG = Logger.forClass(CourseDAO.class);
+    private static final long CACHE_TTL_MILLIS = Long.getLong("cache.course.ttlSeconds", 600) * 1000;
+    private static final LruCache<Integer, Course> COURSE_CACHE = new LruCache<>("courses",
+            Integer.getInteger("cache.course.maxSize", 512), CACHE_TTL_MILLIS);
+    // Holds at most the one full course list, under ALL_COURSES
+    private static final LruCache<Integer, List<Course>> COURSE_LIST_CACHE =
+            new LruCache<>("course-list", 1, CACHE_TTL_MILLIS);
+    private static final int ALL_COURSES = 0;
+    
+    private int batchSize = BatchInsert.DEFAULT_BATCH_SIZE;
     
     public int create(Course course) throws DatabaseException {
         String sql = "INSERT INTO courses (course_code, course_name, credits, instructor) VALUES (?, ?, ?, ?)";
@@ -33,28 +54,115 @@ public class CourseDAO {
                     if (rs.next()) {
                         int generatedId = rs.getInt(1);
                         course.setCourseId(generatedId);
-                        Logger.info("Course created with ID: " + generatedId);
-                        DatabaseConnection.commit();
+                        LOG.info(() -> "Course created with ID: " + generatedId);
+                        DatabaseConnection.commit(conn);
+                        invalidateAfterCommit(null);
                         return generatedId;
                     }
                 }
             }
             
-            DatabaseConnection.commit();
+            DatabaseConnection.commit(conn);
+            invalidateAfterCommit(null);
             return rowsAffected;
             
         } catch (SQLException e) {
-            try {
-                DatabaseConnection.rollback();
-            } catch (DatabaseException ex) {
-                Logger.error("Failed to rollback: " + ex.getMessage());
-            }
-            Logger.error("Error creating course: " + e.getMessage());
+            LOG.error("Error creating course: " + e.getMessage());
             throw new DatabaseException("Failed to create course: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Insert courses in batches, writing the generated IDs back onto them
+     */
+    public int createAll(Collection<Course> courses) throws DatabaseException {
+        String sql = "INSERT INTO courses (course_code, course_name, credits, instructor) VALUES (?, ?, ?, ?)";
+        
+        if (courses.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            int inserted = BatchInsert.insertAll(courses, sql, batchSize, (pstmt, course) -> {
+                pstmt.setString(1, course.getCourseCode());
+                pstmt.setString(2, course.getCourseName());
+                pstmt.setInt(3, course.getCredits());
+                pstmt.setString(4, course.getInstructor());
+            }, Course::setCourseId);
+            
+            LOG.info(() -> "Created " + inserted + " courses in batches of " + batchSize);
+            return inserted;
+            
+        } catch (SQLException e) {
+            LOG.error("Error creating courses: " + e.getMessage());
+            throw new DatabaseException("Failed to create courses: " + e.getMessage(), e);
+        } finally {
+            // Earlier batches may have committed even if a later one failed
+            invalidateAfterCommit(null);
+        }
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    /**
+     * Number of rows sent per executeBatch/commit by createAll
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+    
     public Course read(int courseId) throws DatabaseException {
+        if (TransactionTemplate.isActive()) {
+            return load(courseId);
+        }
+        
+        Course cached = COURSE_CACHE.get(courseId);
+        if (cached != null) {
+            return new Course(cached);
+        }
+        
+        long generation = COURSE_CACHE.generation();
+        Course course = load(courseId);
+        if (course != null) {
+            COURSE_CACHE.put(courseId, new Course(course), generation);
+        }
+        return course;
+    }
+    
+    public List<Course> readAll() throws DatabaseException {
+        if (TransactionTemplate.isActive()) {
+            return loadAll();
+        }
+        
+        List<Course> cached = COURSE_LIST_CACHE.get(ALL_COURSES);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+        
+        long generation = COURSE_LIST_CACHE.generation();
+        List<Course> courses = loadAll();
+        COURSE_LIST_CACHE.put(ALL_COURSES, copyOf(courses), generation);
+        return courses;
+    }
+    
+    /**
+     * Hit, miss and eviction counts of the course cache and the course list cache
+     */
+    public static List<CacheStats> getCacheStats() {
+        return List.of(COURSE_CACHE.getStats(), COURSE_LIST_CACHE.getStats());
+    }
+    
+    public static void clearCache() {
+        COURSE_CACHE.invalidateAll();
+        COURSE_LIST_CACHE.invalidateAll();
+    }
+    
+    private Course load(int courseId) throws DatabaseException {
         String sql = "SELECT * FROM courses WHERE course_id = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
@@ -64,51 +172,69 @@ public class CourseDAO {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    Course course = new Course();
-                    course.setCourseId(rs.getInt("course_id"));
-                    course.setCourseCode(rs.getString("course_code"));
-                    course.setCourseName(rs.getString("course_name"));
-                    course.setCredits(rs.getInt("credits"));
-                    course.setInstructor(rs.getString("instructor"));
-                    return course;
+                    return mapCourse(rs);
                 }
             }
             
         } catch (SQLException e) {
-            Logger.error("Error reading course: " + e.getMessage());
+            LOG.error("Error reading course: " + e.getMessage());
             throw new DatabaseException("Failed to read course: " + e.getMessage(), e);
         }
         
         return null;
     }
     
-    public List<Course> readAll() throws DatabaseException {
+    private List<Course> loadAll() throws DatabaseException {
         String sql = "SELECT * FROM courses ORDER BY course_id";
         List<Course> courses = new ArrayList<>();
         
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
-                Course course = new Course();
-                course.setCourseId(rs.getInt("course_id"));
-                course.setCourseCode(rs.getString("course_code"));
-                course.setCourseName(rs.getString("course_name"));
-                course.setCredits(rs.getInt("credits"));
-                course.setInstructor(rs.getString("instructor"));
-                courses.add(course);
+                courses.add(mapCourse(rs));
             }
             
-            Logger.info("Retrieved " + courses.size() + " courses");
+            LOG.info(() -> "Retrieved " + courses.size() + " courses");
             return courses;
             
         } catch (SQLException e) {
-            Logger.error("Error reading all courses: " + e.getMessage());
+            LOG.error("Error reading all courses: " + e.getMessage());
             throw new DatabaseException("Failed to read courses: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Count courses with an aggregate query
+     */
+    public int count() throws DatabaseException {
+        String sql = "SELECT COUNT(*) FROM courses";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            return rs.next() ? rs.getInt(1) : 0;
+            
+        } catch (SQLException e) {
+            LOG.error("Error counting courses: " + e.getMessage());
+            throw new DatabaseException("Failed to count courses: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Stream all courses lazily; close the stream to release its connection early
+     */
+    public Stream<Course> streamAll() throws DatabaseException {
+        return streamAll(ResultSetStream.DEFAULT_FETCH_SIZE);
+    }
+    
+    public Stream<Course> streamAll(int fetchSize) throws DatabaseException {
+        String sql = "SELECT * FROM courses ORDER BY course_id";
+        return ResultSetStream.open(sql, fetchSize, pstmt -> {}, CourseDAO::mapCourse);
+    }
+    
     public boolean update(Course course) throws DatabaseException {
         String sql = "UPDATE courses SET course_code = ?, course_name = ?, credits = ?, instructor = ? WHERE course_id = ?";
         
@@ -122,22 +248,19 @@ public class CourseDAO {
             pstmt.setInt(5, course.getCourseId());
             
             int rowsAffected = pstmt.executeUpdate();
-            DatabaseConnection.commit();
+            DatabaseConnection.commit(conn);
+            invalidateAfterCommit(course.getCourseId());
+            GpaDAO.invalidateAllAfterCommit(); // credits may have changed
             
             if (rowsAffected > 0) {
-                Logger.info("Course updated: " + course.getCourseId());
+                LOG.info(() -> "Course updated: " + course.getCourseId());
                 return true;
             }
             
             return false;
             
         } catch (SQLException e) {
-            try {
-                DatabaseConnection.rollback();
-            } catch (DatabaseException ex) {
-                Logger.error("Failed to rollback: " + ex.getMessage());
-            }
-            Logger.error("Error updating course: " + e.getMessage());
+            LOG.error("Error updating course: " + e.getMessage());
             throw new DatabaseException("Failed to update course: " + e.getMessage(), e);
         }
     }
@@ -151,24 +274,52 @@ public class CourseDAO {
             pstmt.setInt(1, courseId);
             
             int rowsAffected = pstmt.executeUpdate();
-            DatabaseConnection.commit();
+            DatabaseConnection.commit(conn);
+            invalidateAfterCommit(courseId);
+            GradeQueryCache.invalidateCourseAfterCommit(courseId);
+            GpaDAO.invalidateAllAfterCommit();
             
             if (rowsAffected > 0) {
-                Logger.info("Course deleted: " + courseId);
+                LOG.info(() -> "Course deleted: " + courseId);
                 return true;
             }
             
             return false;
             
         } catch (SQLException e) {
-            try {
-                DatabaseConnection.rollback();
-            } catch (DatabaseException ex) {
-                Logger.error("Failed to rollback: " + ex.getMessage());
-            }
-            Logger.error("Error deleting course: " + e.getMessage());
+            LOG.error("Error deleting course: " + e.getMessage());
             throw new DatabaseException("Failed to delete course: " + e.getMessage(), e);
         }
     }
+    
+    /**
+     * Drop the cached row (if any) and the cached course list once the write is durable
+     */
+    private static void invalidateAfterCommit(Integer courseId) {
+        TransactionTemplate.afterCommit(() -> {
+            if (courseId != null) {
+                COURSE_CACHE.invalidate(courseId);
+            }
+            COURSE_LIST_CACHE.invalidateAll();
+        });
+    }
+    
+    private static List<Course> copyOf(List<Course> courses) {
+        List<Course> copies = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            copies.add(new Course(course));
+        }
+        return copies;
+    }
+    
+    private static Course mapCourse(ResultSet rs) throws SQLException {
+        Course course = new Course();
+        course.setCourseId(rs.getInt("course_id"));
+        course.setCourseCode(rs.getString("course_code"));
+        course.setCourseName(rs.getString("course_name"));
+        course.setCredits(rs.getInt("credits"));
+        course.setInstructor(rs.getString("instructor"));
+        return course;
+    }
 }
 
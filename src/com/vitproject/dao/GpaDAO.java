@@ -0,0 +1,150 @@
+package com.vitproject.dao;
+
+import com.vitproject.exception.DatabaseException;
+import com.vitproject.model.Grade;
+import com.vitproject.model.StudentGpa;
+import com.vitproject.util.CacheStats;
+import com.vitproject.util.ClassLogger;
+import com.vitproject.util.DatabaseConnection;
+import com.vitproject.util.Logger;
+import com.vitproject.util.LruCache;
+import com.vitproject.util.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Credit-weighted GPA queries
+ *
+ * Each student's GPA comes from one query joining grades to courses, with
+ * the letter-to-points scale of Grade.GRADE_POINTS turned into a SQL CASE.
+ * read() results are cached (-Dcache.gpa.maxSize, -Dcache.gpa.ttlSeconds);
+ * grade writes drop the student's entry, and course credit changes or
+ * deletions drop them all, once the write commits.
+ */
+public class GpaDAO {
+    private static final ClassLogger LOG = Logger.forClass(GpaDAO.class);
+    private static final LruCache<Integer, StudentGpa> GPA_CACHE = new LruCache<>("student-gpa",
+            Integer.getInteger("cache.gpa.maxSize", 4096), Long.getLong("cache.gpa.ttlSeconds", 600) * 1000);
+            
+    private static final String GPA_SELECT =
+            "SELECT s.student_id, s.name, s.department, COUNT(g.grade_id) AS graded_courses, " +
+            "COALESCE(SUM(c.credits), 0) AS total_credits, " +
+            "COALESCE(SUM(c.credits * " + gradePointsCase() + "), 0) AS credit_points " +
+            "FROM students s " +
+            "LEFT JOIN grades g ON g.student_id = s.student_id " +
+            "LEFT JOIN courses c ON c.course_id = g.course_id ";
+            
+    public StudentGpa read(int studentId) throws DatabaseException {
+        if (TransactionTemplate.isActive()) {
+            return load(studentId);
+        }
+        
+        StudentGpa cached = GPA_CACHE.get(studentId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long generation = GPA_CACHE.generation();
+        StudentGpa gpa = load(studentId);
+        if (gpa != null) {
+            GPA_CACHE.put(studentId, gpa, generation);
+        }
+        return gpa;
+    }
+    
+    /**
+     * Stream the GPA of every student, or of one department, in one grouped query
+     * Close the stream to release its connection early.
+     * @param department department to include, or null for all students
+     */
+    public Stream<StudentGpa> streamAll(String department) throws DatabaseException {
+        if (department == null) {
+            String sql = GPA_SELECT + "GROUP BY s.student_id ORDER BY s.student_id";
+            return ResultSetStream.open(sql, ResultSetStream.DEFAULT_FETCH_SIZE, pstmt -> {}, GpaDAO::mapGpa);
+        }
+        String sql = GPA_SELECT + "WHERE s.department = ? GROUP BY s.student_id ORDER BY s.student_id";
+        return ResultSetStream.open(sql, ResultSetStream.DEFAULT_FETCH_SIZE,
+                pstmt -> pstmt.setString(1, department), GpaDAO::mapGpa);
+    }
+    
+    public static CacheStats getCacheStats() {
+        return GPA_CACHE.getStats();
+    }
+    
+    public static void clearCache() {
+        GPA_CACHE.invalidateAll();
+    }
+    
+    /**
+     * Drop one student's cached GPA once the current write commits
+     */
+    static void invalidateAfterCommit(int studentId) {
+        TransactionTemplate.afterCommit(() -> GPA_CACHE.invalidate(studentId));
+    }
+    
+    static void invalidateAfterCommit(Collection<Grade> grades) {
+        Set<Integer> studentIds = new HashSet<>();
+        for (Grade grade : grades) {
+            studentIds.add(grade.getStudentId());
+        }
+        TransactionTemplate.afterCommit(() -> studentIds.forEach(GPA_CACHE::invalidate));
+    }
+    
+    /**
+     * Drop every cached GPA once the current write commits; used when course credits change
+     */
+    static void invalidateAllAfterCommit() {
+        TransactionTemplate.afterCommit(GPA_CACHE::invalidateAll);
+    }
+    
+    private StudentGpa load(int studentId) throws DatabaseException {
+        String sql = GPA_SELECT + "WHERE s.student_id = ? GROUP BY s.student_id";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, studentId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapGpa(rs);
+                }
+            }
+            
+        } catch (SQLException e) {
+            LOG.error("Error reading GPA: " + e.getMessage());
+            throw new DatabaseException("Failed to read GPA: " + e.getMessage(), e);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * CASE expression mapping g.grade to grade points, built from Grade.GRADE_POINTS
+     */
+    private static String gradePointsCase() {
+        StringBuilder sql = new StringBuilder("CASE g.grade");
+        for (Map.Entry<String, Integer> entry : Grade.GRADE_POINTS.entrySet()) {
+            sql.append(" WHEN '").append(entry.getKey()).append("' THEN ").append(entry.getValue());
+        }
+        return sql.append(" ELSE 0 END").toString();
+    }
+    
+    private static StudentGpa mapGpa(ResultSet rs) throws SQLException {
+        return new StudentGpa(
+                rs.getInt("student_id"),
+                rs.getString("name"),
+                rs.getString("department"),
+                rs.getInt("graded_courses"),
+                rs.getInt("total_credits"),
+                rs.getLong("credit_points"));
+    }
+}
@@ -1,18 +1,35 @@
 package com.vitproject.dao;
 
+import com.vitproject.model.CourseRosterEntry;
 import com.vitproject.model.Grade;
+import com.vitproject.model.GradeDetail;
+import com.vitproject.model.GradeStatistics;
+import com.vitproject.model.ScopedMark;
 import com.vitproject.exception.DatabaseException;
+import com.vitproject.util.CacheStats;
+import com.vitproject.util.ClassLogger;
 import com.vitproject.util.DatabaseConnection;
 import com.vitproject.util.Logger;
+import com.vitproject.util.TransactionTemplate;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Grade
+ *
+ * Grades by course and by student are served from GradeQueryCache; every
+ * write bumps the versions of the student and course it touches.
  */
 public class GradeDAO {
+    private static final ClassLogger LOG = Logger.forClass(GradeDAO.class);
+    
+    private int batchSize = BatchInsert.DEFAULT_BATCH_SIZE;
     
     public int create(Grade grade) throws DatabaseException {
         String sql = "INSERT INTO grades (student_id, course_id, marks, grade) VALUES (?, ?, ?, ?)";
@@ -32,28 +49,200 @@ public class GradeDAO {
                     if (rs.next()) {
                         int generatedId = rs.getInt(1);
                         grade.setGradeId(generatedId);
-                        Logger.info("Grade created with ID: " + generatedId);
-                        DatabaseConnection.commit();
+                        LOG.info(() -> "Grade created with ID: " + generatedId);
+                        DatabaseConnection.commit(conn);
+                        GradeQueryCache.invalidateAfterCommit(grade.getStudentId(), grade.getCourseId());
+                        GpaDAO.invalidateAfterCommit(grade.getStudentId());
                         return generatedId;
                     }
                 }
             }
             
-            DatabaseConnection.commit();
+            DatabaseConnection.commit(conn);
+            GradeQueryCache.invalidateAfterCommit(grade.getStudentId(), grade.getCourseId());
+            GpaDAO.invalidateAfterCommit(grade.getStudentId());
             return rowsAffected;
             
         } catch (SQLException e) {
-            try {
-                DatabaseConnection.rollback();
-            } catch (DatabaseException ex) {
-                Logger.error("Failed to rollback: " + ex.getMessage());
-            }
-            Logger.error("Error creating grade: " + e.getMessage());
+            LOG.error("Error creating grade: " + e.getMessage());
             throw new DatabaseException("Failed to create grade: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Insert grades in batches, writing the generated IDs back onto them
+     */
+    public int createAll(Collection<Grade> grades) throws DatabaseException {
+        String sql = "INSERT INTO grades (student_id, course_id, marks, grade) VALUES (?, ?, ?, ?)";
+        
+        if (grades.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            int inserted = BatchInsert.insertAll(grades, sql, batchSize, (pstmt, grade) -> {
+                pstmt.setInt(1, grade.getStudentId());
+                pstmt.setInt(2, grade.getCourseId());
+                pstmt.setDouble(3, grade.getMarks());
+                pstmt.setString(4, grade.getGrade());
+            }, Grade::setGradeId);
+            
+            LOG.info(() -> "Created " + inserted + " grades in batches of " + batchSize);
+            return inserted;
+            
+        } catch (SQLException e) {
+            LOG.error("Error creating grades: " + e.getMessage());
+            throw new DatabaseException("Failed to create grades: " + e.getMessage(), e);
+        } finally {
+            // Earlier batches may have committed even if a later one failed
+            GradeQueryCache.invalidateAfterCommit(grades);
+            GpaDAO.invalidateAfterCommit(grades);
+        }
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    /**
+     * Number of rows sent per executeBatch/commit by createAll
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Get one grade by ID, or null if it does not exist
+     */
+    public Grade read(int gradeId) throws DatabaseException {
+        String sql = "SELECT * FROM grades WHERE grade_id = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, gradeId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapGrade(rs);
+                }
+            }
+            
+        } catch (SQLException e) {
+            LOG.error("Error reading grade: " + e.getMessage());
+            throw new DatabaseException("Failed to read grade: " + e.getMessage(), e);
+        }
+        
+        return null;
+    }
+    
     public List<Grade> getGradesByStudent(int studentId) throws DatabaseException {
+        if (TransactionTemplate.isActive()) {
+            return loadGradesByStudent(studentId);
+        }
+        return GradeQueryCache.byStudent(studentId, () -> loadGradesByStudent(studentId));
+    }
+    
+    public List<Grade> getGradesByCourse(int courseId) throws DatabaseException {
+        if (TransactionTemplate.isActive()) {
+            return loadGradesByCourse(courseId);
+        }
+        return GradeQueryCache.byCourse(courseId, () -> loadGradesByCourse(courseId));
+    }
+    
+    /**
+     * Grades of the students with IDs in (afterStudentId, lastStudentId], ordered by student
+     * Used by bulk transcript runs to fetch a whole page of students' grades in one query;
+     * bypasses the query cache so a one-off pass does not evict hot entries.
+     * @param department only students of this department, or null for all
+     */
+    public List<Grade> getGradesForStudentRange(String department, int afterStudentId, int lastStudentId)
+            throws DatabaseException {
+        String sql = department == null
+                ? "SELECT * FROM grades WHERE student_id > ? AND student_id <= ? ORDER BY student_id, course_id"
+                : "SELECT g.* FROM grades g JOIN students s ON s.student_id = g.student_id " +
+                  "WHERE g.student_id > ? AND g.student_id <= ? AND s.department = ? " +
+                  "ORDER BY g.student_id, g.course_id";
+        List<Grade> grades = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, afterStudentId);
+            pstmt.setInt(2, lastStudentId);
+            if (department != null) {
+                pstmt.setString(3, department);
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    grades.add(mapGrade(rs));
+                }
+            }
+            
+            return grades;
+            
+        } catch (SQLException e) {
+            LOG.error("Error reading grades: " + e.getMessage());
+            throw new DatabaseException("Failed to read grades: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Number of grades of each student that has any, keyed by student ID
+     */
+    public Map<Integer, Integer> countGradesByStudent() throws DatabaseException {
+        String sql = "SELECT student_id, COUNT(*) AS cnt FROM grades GROUP BY student_id";
+        Map<Integer, Integer> counts = new HashMap<>();
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                counts.put(rs.getInt("student_id"), rs.getInt("cnt"));
+            }
+            
+            return counts;
+            
+        } catch (SQLException e) {
+            LOG.error("Error counting grades: " + e.getMessage());
+            throw new DatabaseException("Failed to count grades: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Stream a course's grades with student names, ordered by student, without materializing them
+     * Close the stream (try-with-resources) to release the connection early.
+     */
+    public Stream<CourseRosterEntry> streamCourseRoster(int courseId) throws DatabaseException {
+        return streamCourseRoster(courseId, ResultSetStream.DEFAULT_FETCH_SIZE);
+    }
+    
+    public Stream<CourseRosterEntry> streamCourseRoster(int courseId, int fetchSize) throws DatabaseException {
+        String sql = "SELECT g.grade_id, g.student_id, s.name, s.department, g.marks, g.grade " +
+                "FROM grades g LEFT JOIN students s ON s.student_id = g.student_id " +
+                "WHERE g.course_id = ? ORDER BY g.student_id";
+        return ResultSetStream.open(sql, fetchSize, pstmt -> pstmt.setInt(1, courseId), rs -> new CourseRosterEntry(
+                rs.getInt("grade_id"),
+                rs.getInt("student_id"),
+                rs.getString("name"),
+                rs.getString("department"),
+                rs.getDouble("marks"),
+                rs.getString("grade")));
+    }
+    
+    /**
+     * Hit, miss and eviction counts of the grades-by-course and grades-by-student caches
+     */
+    public static List<CacheStats> getCacheStats() {
+        return GradeQueryCache.getStats();
+    }
+    
+    private List<Grade> loadGradesByStudent(int studentId) throws DatabaseException {
         String sql = "SELECT * FROM grades WHERE student_id = ?";
         List<Grade> grades = new ArrayList<>();
         
@@ -64,25 +253,57 @@ public class GradeDAO {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Grade grade = new Grade();
-                    grade.setGradeId(rs.getInt("grade_id"));
-                    grade.setStudentId(rs.getInt("student_id"));
-                    grade.setCourseId(rs.getInt("course_id"));
-                    grade.setMarks(rs.getDouble("marks"));
-                    grade.setGrade(rs.getString("grade"));
-                    grades.add(grade);
+                    grades.add(mapGrade(rs));
                 }
             }
             
             return grades;
             
         } catch (SQLException e) {
-            Logger.error("Error reading grades: " + e.getMessage());
+            LOG.error("Error reading grades: " + e.getMessage());
             throw new DatabaseException("Failed to read grades: " + e.getMessage(), e);
         }
     }
     
-    public List<Grade> getGradesByCourse(int courseId) throws DatabaseException {
+    /**
+     * Get a student's grades together with course code, name and credits
+     * One joined query instead of a course lookup per grade.
+     */
+    public List<GradeDetail> getGradeDetailsByStudent(int studentId) throws DatabaseException {
+        String sql = "SELECT g.grade_id, g.student_id, g.course_id, g.marks, g.grade, " +
+                "c.course_code, c.course_name, c.credits " +
+                "FROM grades g LEFT JOIN courses c ON c.course_id = g.course_id " +
+                "WHERE g.student_id = ? ORDER BY g.course_id";
+        List<GradeDetail> details = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, studentId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    details.add(new GradeDetail(
+                            rs.getInt("grade_id"),
+                            rs.getInt("student_id"),
+                            rs.getInt("course_id"),
+                            rs.getDouble("marks"),
+                            rs.getString("grade"),
+                            rs.getString("course_code"),
+                            rs.getString("course_name"),
+                            rs.getInt("credits")));
+                }
+            }
+            
+            return details;
+            
+        } catch (SQLException e) {
+            LOG.error("Error reading grade details: " + e.getMessage());
+            throw new DatabaseException("Failed to read grade details: " + e.getMessage(), e);
+        }
+    }
+    
+    private List<Grade> loadGradesByCourse(int courseId) throws DatabaseException {
         String sql = "SELECT * FROM grades WHERE course_id = ?";
         List<Grade> grades = new ArrayList<>();
         
@@ -93,51 +314,123 @@ public class GradeDAO {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Grade grade = new Grade();
-                    grade.setGradeId(rs.getInt("grade_id"));
-                    grade.setStudentId(rs.getInt("student_id"));
-                    grade.setCourseId(rs.getInt("course_id"));
-                    grade.setMarks(rs.getDouble("marks"));
-                    grade.setGrade(rs.getString("grade"));
-                    grades.add(grade);
+                    grades.add(mapGrade(rs));
                 }
             }
             
             return grades;
             
         } catch (SQLException e) {
-            Logger.error("Error reading grades: " + e.getMessage());
+            LOG.error("Error reading grades: " + e.getMessage());
             throw new DatabaseException("Failed to read grades: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * COUNT/AVG/MIN/MAX of marks across all grades, computed by the database
+     */
+    public GradeStatistics getOverallStatistics() throws DatabaseException {
+        String sql = "SELECT 'All' AS scope, COUNT(*) AS cnt, AVG(marks) AS avg_marks, " +
+                "MIN(marks) AS min_marks, MAX(marks) AS max_marks FROM grades";
+        List<GradeStatistics> statistics = queryStatistics(sql, "overall", pstmt -> {});
+        return statistics.get(0);
+    }
+    
+    /**
+     * Marks statistics of one course
+     */
+    public GradeStatistics getStatisticsForCourse(int courseId) throws DatabaseException {
+        String sql = "SELECT 'Course ID ' || ? AS scope, COUNT(*) AS cnt, AVG(marks) AS avg_marks, " +
+                "MIN(marks) AS min_marks, MAX(marks) AS max_marks FROM grades WHERE course_id = ?";
+        return queryStatistics(sql, "course", pstmt -> {
+            pstmt.setInt(1, courseId);
+            pstmt.setInt(2, courseId);
+        }).get(0);
+    }
+    
+    /**
+     * Marks statistics of one department
+     */
+    public GradeStatistics getStatisticsForDepartment(String department) throws DatabaseException {
+        String sql = "SELECT ? AS scope, COUNT(*) AS cnt, AVG(g.marks) AS avg_marks, " +
+                "MIN(g.marks) AS min_marks, MAX(g.marks) AS max_marks " +
+                "FROM grades g JOIN students s ON s.student_id = g.student_id WHERE s.department = ?";
+        return queryStatistics(sql, "department", pstmt -> {
+            pstmt.setString(1, department);
+            pstmt.setString(2, department);
+        }).get(0);
+    }
+    
+    /**
+     * Stream every grade's marks with its course and student department, without materializing them
+     * Close the stream (try-with-resources) to release the connection early.
+     */
+    public Stream<ScopedMark> streamScopedMarks() throws DatabaseException {
+        String sql = "SELECT g.course_id, s.department, g.marks, g.grade " +
+                "FROM grades g LEFT JOIN students s ON s.student_id = g.student_id";
+        return ResultSetStream.open(sql, ResultSetStream.DEFAULT_FETCH_SIZE, pstmt -> {}, rs -> new ScopedMark(
+                rs.getInt("course_id"),
+                rs.getString("department"),
+                rs.getDouble("marks"),
+                rs.getString("grade")));
+    }
+    
+    private List<GradeStatistics> queryStatistics(String sql, String grouping, ResultSetStream.StatementBinder binder)
+            throws DatabaseException {
+        List<GradeStatistics> statistics = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            binder.bind(pstmt);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    statistics.add(new GradeStatistics(
+                            rs.getString("scope"),
+                            rs.getLong("cnt"),
+                            rs.getDouble("avg_marks"),
+                            rs.getDouble("min_marks"),
+                            rs.getDouble("max_marks")));
+                }
+            }
+            
+            return statistics;
+            
+        } catch (SQLException e) {
+            LOG.error("Error reading " + grouping + " statistics: " + e.getMessage());
+            throw new DatabaseException("Failed to read grade statistics: " + e.getMessage(), e);
+        }
+    }
+    
     public boolean update(Grade grade) throws DatabaseException {
         String sql = "UPDATE grades SET marks = ?, grade = ? WHERE grade_id = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
+            int[] owners = findOwners(conn, grade.getGradeId());
+            
             pstmt.setDouble(1, grade.getMarks());
             pstmt.setString(2, grade.getGrade());
             pstmt.setInt(3, grade.getGradeId());
             
             int rowsAffected = pstmt.executeUpdate();
-            DatabaseConnection.commit();
+            DatabaseConnection.commit(conn);
+            if (owners != null) {
+                GradeQueryCache.invalidateAfterCommit(owners[0], owners[1]);
+                GpaDAO.invalidateAfterCommit(owners[0]);
+            }
             
             if (rowsAffected > 0) {
-                Logger.info("Grade updated: " + grade.getGradeId());
+                LOG.info(() -> "Grade updated: " + grade.getGradeId());
                 return true;
             }
             
             return false;
             
         } catch (SQLException e) {
-            try {
-                DatabaseConnection.rollback();
-            } catch (DatabaseException ex) {
-                Logger.error("Failed to rollback: " + ex.getMessage());
-            }
-            Logger.error("Error updating grade: " + e.getMessage());
+            LOG.error("Error updating grade: " + e.getMessage());
             throw new DatabaseException("Failed to update grade: " + e.getMessage(), e);
         }
     }
@@ -148,27 +441,51 @@ public class GradeDAO {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
+            int[] owners = findOwners(conn, gradeId);
+            
             pstmt.setInt(1, gradeId);
             
             int rowsAffected = pstmt.executeUpdate();
-            DatabaseConnection.commit();
+            DatabaseConnection.commit(conn);
+            if (owners != null) {
+                GradeQueryCache.invalidateAfterCommit(owners[0], owners[1]);
+                GpaDAO.invalidateAfterCommit(owners[0]);
+            }
             
             if (rowsAffected > 0) {
-                Logger.info("Grade deleted: " + gradeId);
+                LOG.info(() -> "Grade deleted: " + gradeId);
                 return true;
             }
             
             return false;
             
         } catch (SQLException e) {
-            try {
-                DatabaseConnection.rollback();
-            } catch (DatabaseException ex) {
-                Logger.error("Failed to rollback: " + ex.getMessage());
-            }
-            Logger.error("Error deleting grade: " + e.getMessage());
+            LOG.error("Error deleting grade: " + e.getMessage());
             throw new DatabaseException("Failed to delete grade: " + e.getMessage(), e);
         }
     }
+    
+    private static Grade mapGrade(ResultSet rs) throws SQLException {
+        Grade grade = new Grade();
+        grade.setGradeId(rs.getInt("grade_id"));
+        grade.setStudentId(rs.getInt("student_id"));
+        grade.setCourseId(rs.getInt("course_id"));
+        grade.setMarks(rs.getDouble("marks"));
+        grade.setGrade(rs.getString("grade"));
+        return grade;
+    }
+    
+    /**
+     * Student and course IDs of a grade, read before it is changed so the right cache keys are bumped
+     */
+    private static int[] findOwners(Connection conn, int gradeId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT student_id, course_id FROM grades WHERE grade_id = ?")) {
+            pstmt.setInt(1, gradeId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? new int[] {rs.getInt("student_id"), rs.getInt("course_id")} : null;
+            }
+        }
+    }
 }
 
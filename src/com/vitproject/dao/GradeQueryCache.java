@@ -0,0 +1,193 @@
+package com.vitproject.dao;
+
+import com.vitproject.exception.DatabaseException;
+import com.vitproject.model.Grade;
+import com.vitproject.util.CacheStats;
+import com.vitproject.util.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cached results of the grades-by-course and grades-by-student queries
+ *
+ * Every course and student has a version counter that GradeDAO bumps after a
+ * committed write touching that key. A cached list remembers the version it
+ * was loaded at and is only served while that version is still current, so a
+ * load that raced with a write can at worst store an entry that is never used.
+ * Keys share a fixed array of version stripes, so the counters take constant
+ * memory however many IDs are written; a write to one key may also invalidate
+ * the few other cached keys in its stripe.
+ */
+final class GradeQueryCache {
+    private static final int MAX_KEYS = Integer.getInteger("cache.grades.maxKeys", 1024);
+    private static final int VERSION_STRIPES = 4096; // power of two
+    
+    private static final VersionedStore byCourse = new VersionedStore("grades-by-course");
+    private static final VersionedStore byStudent = new VersionedStore("grades-by-student");
+    
+    private GradeQueryCache() {}
+    
+    /**
+     * Query that fills the cache on a miss
+     */
+    @FunctionalInterface
+    interface Loader {
+        List<Grade> load() throws DatabaseException;
+    }
+    
+    static List<Grade> byCourse(int courseId, Loader loader) throws DatabaseException {
+        return byCourse.get(courseId, loader);
+    }
+    
+    static List<Grade> byStudent(int studentId, Loader loader) throws DatabaseException {
+        return byStudent.get(studentId, loader);
+    }
+    
+    /**
+     * Invalidate one student's and one course's results once the current write commits
+     */
+    static void invalidateAfterCommit(int studentId, int courseId) {
+        TransactionTemplate.afterCommit(() -> {
+            byStudent.bump(studentId);
+            byCourse.bump(courseId);
+        });
+    }
+    
+    static void invalidateAfterCommit(Collection<Grade> grades) {
+        List<int[]> keys = new ArrayList<>(grades.size());
+        for (Grade grade : grades) {
+            keys.add(new int[] {grade.getStudentId(), grade.getCourseId()});
+        }
+        TransactionTemplate.afterCommit(() -> {
+            for (int[] key : keys) {
+                byStudent.bump(key[0]);
+                byCourse.bump(key[1]);
+            }
+        });
+    }
+    
+    /**
+     * A deleted student's grades may vanish from any course, so all course results are dropped
+     */
+    static void invalidateStudentAfterCommit(int studentId) {
+        TransactionTemplate.afterCommit(() -> {
+            byStudent.bump(studentId);
+            byCourse.bumpAll();
+        });
+    }
+    
+    /**
+     * A deleted course's grades may vanish from any student, so all student results are dropped
+     */
+    static void invalidateCourseAfterCommit(int courseId) {
+        TransactionTemplate.afterCommit(() -> {
+            byCourse.bump(courseId);
+            byStudent.bumpAll();
+        });
+    }
+    
+    static List<CacheStats> getStats() {
+        return List.of(byCourse.stats(), byStudent.stats());
+    }
+    
+    private static List<Grade> copyOf(List<Grade> grades) {
+        List<Grade> copies = new ArrayList<>(grades.size());
+        for (Grade grade : grades) {
+            copies.add(new Grade(grade));
+        }
+        return copies;
+    }
+    
+    /**
+     * Bounded LRU map of query results, validated against striped per-key versions
+     */
+    private static final class VersionedStore {
+        private final String name;
+        private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+        private final AtomicLong allVersion = new AtomicLong();
+        private final LinkedHashMap<Integer, CachedGrades> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long hits;
+        private long misses;
+        private long evictions;
+        
+        private VersionedStore(String name) {
+            this.name = name;
+        }
+        
+        List<Grade> get(int key, Loader loader) throws DatabaseException {
+            long version = versions.get(stripe(key));
+            long all = allVersion.get();
+            
+            List<Grade> cached = lookup(key, version, all);
+            if (cached != null) {
+                return copyOf(cached);
+            }
+            
+            List<Grade> loaded = loader.load();
+            store(key, new CachedGrades(version, all, Collections.unmodifiableList(copyOf(loaded))));
+            return loaded;
+        }
+        
+        void bump(int key) {
+            versions.incrementAndGet(stripe(key));
+        }
+        
+        void bumpAll() {
+            allVersion.incrementAndGet();
+        }
+        
+        private synchronized List<Grade> lookup(int key, long version, long all) {
+            CachedGrades entry = entries.get(key);
+            if (entry != null && entry.version == version && entry.allVersion == all) {
+                hits++;
+                return entry.grades;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            return null;
+        }
+        
+        private synchronized void store(int key, CachedGrades entry) {
+            if (entry.version != versions.get(stripe(key)) || entry.allVersion != allVersion.get()) {
+                return; // already outdated; keep whatever newer entry may be there
+            }
+            entries.put(key, entry);
+            Iterator<Integer> eldest = entries.keySet().iterator();
+            while (entries.size() > MAX_KEYS && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions++;
+            }
+        }
+        
+        private static int stripe(int key) {
+            int hash = key * 0x9E3779B9; // spread consecutive IDs across stripes
+            return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+        }
+        
+        private synchronized CacheStats stats() {
+            return new CacheStats(name, entries.size(), MAX_KEYS, hits, misses, evictions);
+        }
+    }
+    
+    private static final class CachedGrades {
+        private final long version;
+        private final long allVersion;
+        private final List<Grade> grades;
+        
+        private CachedGrades(long version, long allVersion, List<Grade> grades) {
+            this.version = version;
+            this.allVersion = allVersion;
+            this.grades = grades;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.vitproject.dao;
+
+import com.vitproject.exception.DatabaseException;
+import com.vitproject.model.JobRun;
+import com.vitproject.util.ClassLogger;
+import com.vitproject.util.DatabaseConnection;
+import com.vitproject.util.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persisted last-run state of scheduled jobs (job_runs table)
+ * Instants are stored as ISO-8601 text. Manual runs update the run columns
+ * but never scheduled_at, which only ever holds a trigger fire time.
+ */
+public class JobRunDAO {
+    private static final ClassLogger LOG = Logger.forClass(JobRunDAO.class);
+    
+    public JobRun read(String jobName) throws DatabaseException {
+        String sql = "SELECT * FROM job_runs WHERE job_name = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, jobName);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapJobRun(rs) : null;
+            }
+            
+        } catch (SQLException e) {
+            LOG.error("Error reading job run: " + e.getMessage());
+            throw new DatabaseException("Failed to read job run: " + e.getMessage(), e);
+        }
+    }
+    
+    public List<JobRun> readAll() throws DatabaseException {
+        String sql = "SELECT * FROM job_runs ORDER BY job_name";
+        List<JobRun> runs = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                runs.add(mapJobRun(rs));
+            }
+            return runs;
+            
+        } catch (SQLException e) {
+            LOG.error("Error reading job runs: " + e.getMessage());
+            throw new DatabaseException("Failed to read job runs: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Record that a job started the run for one window, replacing its previous run
+     */
+    public void recordStart(String jobName, Instant scheduledAt, Instant startedAt) throws DatabaseException {
+        String sql = "INSERT INTO job_runs " +
+                     "(job_name, scheduled_at, started_at, finished_at, status, message, manual) " +
+                     "VALUES (?, ?, ?, NULL, ?, NULL, 0) " +
+                     "ON CONFLICT(job_name) DO UPDATE SET scheduled_at = excluded.scheduled_at, " +
+                     "started_at = excluded.started_at, finished_at = NULL, status = excluded.status, " +
+                     "message = NULL, manual = 0";
+                    
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, jobName);
+            pstmt.setString(2, scheduledAt.toString());
+            pstmt.setString(3, startedAt.toString());
+            pstmt.setString(4, JobRun.Status.RUNNING.name());
+            
+            pstmt.executeUpdate();
+            DatabaseConnection.commit(conn);
+            
+        } catch (SQLException e) {
+            LOG.error("Error recording job start: " + e.getMessage());
+            throw new DatabaseException("Failed to record job start: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Record that a job started a manual run; the last scheduled window is kept
+     */
+    public void recordManualStart(String jobName, Instant startedAt) throws DatabaseException {
+        String sql = "INSERT INTO job_runs " +
+                     "(job_name, scheduled_at, started_at, finished_at, status, message, manual) " +
+                     "VALUES (?, NULL, ?, NULL, ?, NULL, 1) " +
+                     "ON CONFLICT(job_name) DO UPDATE SET started_at = excluded.started_at, finished_at = NULL, " +
+                     "status = excluded.status, message = NULL, manual = 1";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, jobName);
+            pstmt.setString(2, startedAt.toString());
+            pstmt.setString(3, JobRun.Status.RUNNING.name());
+            
+            pstmt.executeUpdate();
+            DatabaseConnection.commit(conn);
+            
+        } catch (SQLException e) {
+            LOG.error("Error recording job start: " + e.getMessage());
+            throw new DatabaseException("Failed to record job start: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Mark a window as done without a scheduled run, when a manual run stood in for it
+     */
+    public void recordWindowCovered(String jobName, Instant scheduledAt) throws DatabaseException {
+        String sql = "UPDATE job_runs SET scheduled_at = ? WHERE job_name = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, scheduledAt.toString());
+            pstmt.setString(2, jobName);
+            
+            pstmt.executeUpdate();
+            DatabaseConnection.commit(conn);
+            
+        } catch (SQLException e) {
+            LOG.error("Error recording covered job window: " + e.getMessage());
+            throw new DatabaseException("Failed to record covered job window: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Record how a job's current run ended
+     */
+    public void recordFinish(String jobName, JobRun.Status status, Instant finishedAt, String message)
+            throws DatabaseException {
+        String sql = "UPDATE job_runs SET finished_at = ?, status = ?, message = ? WHERE job_name = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, finishedAt.toString());
+            pstmt.setString(2, status.name());
+            pstmt.setString(3, message);
+            pstmt.setString(4, jobName);
+            
+            pstmt.executeUpdate();
+            DatabaseConnection.commit(conn);
+            
+        } catch (SQLException e) {
+            LOG.error("Error recording job finish: " + e.getMessage());
+            throw new DatabaseException("Failed to record job finish: " + e.getMessage(), e);
+        }
+    }
+    
+    private static JobRun mapJobRun(ResultSet rs) throws SQLException {
+        String scheduledAt = rs.getString("scheduled_at");
+        String finishedAt = rs.getString("finished_at");
+        return new JobRun(
+                rs.getString("job_name"),
+                scheduledAt != null ? Instant.parse(scheduledAt) : null,
+                Instant.parse(rs.getString("started_at")),
+                finishedAt != null ? Instant.parse(finishedAt) : null,
+                JobRun.Status.valueOf(rs.getString("status")),
+                rs.getString("message"),
+                rs.getInt("manual") != 0);
+    }
+}
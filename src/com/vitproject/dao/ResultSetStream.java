@@ -0,0 +1,119 @@
+package com.vitproject.dao;
+
+import com.vitproject.exception.DataAccessException;
+import com.vitproject.exception.DatabaseException;
+import com.vitproject.util.ClassLogger;
+import com.vitproject.util.DatabaseConnection;
+import com.vitproject.util.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily maps a query's rows into a Stream
+ * The connection, statement and ResultSet stay open while the stream is
+ * consumed and are released when it is exhausted or closed, so callers
+ * should use try-with-resources to release them on early termination.
+ */
+final class ResultSetStream {
+    private static final ClassLogger LOG = Logger.forClass(ResultSetStream.class);
+    static final int DEFAULT_FETCH_SIZE = Integer.getInteger("db.fetchSize", 500);
+    
+    private ResultSetStream() {}
+    
+    @FunctionalInterface
+    interface StatementBinder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+    
+    static <T> Stream<T> open(String sql, int fetchSize, StatementBinder binder, RowMapper<T> mapper)
+            throws DatabaseException {
+        Connection conn = DatabaseConnection.getConnection();
+        PreparedStatement pstmt = null;
+        ResultSet rs;
+        
+        try {
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setFetchSize(fetchSize);
+            binder.bind(pstmt);
+            rs = pstmt.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(null, pstmt, conn);
+            LOG.error("Error opening result stream: " + e.getMessage());
+            throw new DatabaseException("Failed to open result stream: " + e.getMessage(), e);
+        }
+        
+        Cursor<T> cursor = new Cursor<>(conn, pstmt, rs, mapper);
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+    
+    private static void closeQuietly(ResultSet rs, PreparedStatement pstmt, Connection conn) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+            if (pstmt != null) {
+                pstmt.close();
+            }
+        } catch (SQLException e) {
+            LOG.warning("Error closing result stream: " + e.getMessage());
+        } finally {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                LOG.warning("Error releasing stream connection: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Sequential spliterator reading one row per advance
+     */
+    private static class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection conn;
+        private final PreparedStatement pstmt;
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+        private boolean closed;
+        
+        private Cursor(Connection conn, PreparedStatement pstmt, ResultSet rs, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.pstmt = pstmt;
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (!rs.next()) {
+                    close(); // release the connection as soon as the rows run out
+                    return false;
+                }
+                action.accept(mapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                close();
+                throw new DataAccessException("Failed to read row: " + e.getMessage(), e);
+            }
+        }
+        
+        private void close() {
+            if (!closed) {
+                closed = true;
+                closeQuietly(rs, pstmt, conn);
+            }
+        }
+    }
+}
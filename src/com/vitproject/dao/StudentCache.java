@@ -0,0 +1,245 @@
+package com.vitproject.dao;
+
+import com.vitproject.exception.DatabaseException;
+import com.vitproject.exception.StudentNotFoundException;
+import com.vitproject.model.Student;
+import com.vitproject.util.CacheStats;
+import com.vitproject.util.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-through cache of students by ID and by email, shared by all instances
+ *
+ * Lookups are lock-free on concurrent maps. Eviction is segmented LRU: new
+ * entries start in a probation segment and move to the protected segment on
+ * their second hit, so one pass over many students cannot flush the ones that
+ * are read again and again. IDs that were not found are remembered for a short
+ * time so repeated lookups of a missing ID do not reach the database.
+ *
+ * StudentDAO invalidates entries after every committed write. Each invalidation
+ * advances an epoch, and a load that overlapped an invalidation is not cached.
+ */
+public class StudentCache {
+    private static final int MAX_SIZE = Integer.getInteger("cache.student.maxSize", 10_000);
+    private static final long NEGATIVE_TTL_MILLIS = Long.getLong("cache.student.negativeTtlSeconds", 30) * 1000;
+    private static final int PROTECTED_SIZE = Math.max(1, MAX_SIZE * 4 / 5);
+    
+    private static final Map<Integer, Student> byId = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> idByEmail = new ConcurrentHashMap<>();
+    private static final Map<Integer, Long> missingUntil = new ConcurrentHashMap<>();
+    private static final AtomicLong epoch = new AtomicLong();
+    
+    // Recency order of both segments, guarded by lock
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static final LinkedHashMap<Integer, Boolean> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private static final LinkedHashMap<Integer, Boolean> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+    
+    private final StudentDAO studentDAO;
+    
+    public StudentCache(StudentDAO studentDAO) {
+        this.studentDAO = studentDAO;
+    }
+    
+    /**
+     * Get a student by ID, loading it from the database on a miss
+     */
+    public Student read(int studentId) throws DatabaseException, StudentNotFoundException {
+        if (TransactionTemplate.isActive()) {
+            return studentDAO.read(studentId);
+        }
+        
+        Student cached = byId.get(studentId);
+        if (cached != null) {
+            hits.incrementAndGet();
+            recordAccess(studentId);
+            return new Student(cached);
+        }
+        
+        Long missingDeadline = missingUntil.get(studentId);
+        if (missingDeadline != null) {
+            if (System.currentTimeMillis() < missingDeadline) {
+                hits.incrementAndGet();
+                throw new StudentNotFoundException(studentId);
+            }
+            missingUntil.remove(studentId, missingDeadline);
+        }
+        
+        misses.incrementAndGet();
+        long loadEpoch = epoch.get();
+        try {
+            Student student = studentDAO.read(studentId);
+            store(student, loadEpoch);
+            return student;
+        } catch (StudentNotFoundException e) {
+            storeMissing(studentId, loadEpoch);
+            throw e;
+        }
+    }
+    
+    /**
+     * Get a student by email, loading it from the database on a miss
+     */
+    public Student readByEmail(String email) throws DatabaseException, StudentNotFoundException {
+        if (TransactionTemplate.isActive()) {
+            return studentDAO.readByEmail(email);
+        }
+        
+        Integer studentId = idByEmail.get(email);
+        Student cached = studentId != null ? byId.get(studentId) : null;
+        if (cached != null && email.equals(cached.getEmail())) {
+            hits.incrementAndGet();
+            recordAccess(studentId);
+            return new Student(cached);
+        }
+        
+        misses.incrementAndGet();
+        long loadEpoch = epoch.get();
+        Student student = studentDAO.readByEmail(email);
+        store(student, loadEpoch);
+        return student;
+    }
+    
+    /**
+     * Drop a student's entries once the current write commits
+     */
+    static void invalidateAfterCommit(int studentId) {
+        TransactionTemplate.afterCommit(() -> invalidate(studentId));
+    }
+    
+    /**
+     * Drop every entry, including remembered missing IDs, once the current write commits
+     */
+    static void invalidateAllAfterCommit() {
+        TransactionTemplate.afterCommit(StudentCache::clear);
+    }
+    
+    public static void clear() {
+        lock.lock();
+        try {
+            epoch.incrementAndGet();
+            byId.clear();
+            idByEmail.clear();
+            missingUntil.clear();
+            probation.clear();
+            protectedSegment.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public static CacheStats getStats() {
+        return new CacheStats("students", byId.size(), MAX_SIZE, hits.get(), misses.get(), evictions.get());
+    }
+    
+    private static void invalidate(int studentId) {
+        lock.lock();
+        try {
+            epoch.incrementAndGet();
+            missingUntil.remove(studentId);
+            removeEntry(studentId);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private static void store(Student student, long loadEpoch) {
+        lock.lock();
+        try {
+            if (epoch.get() != loadEpoch) {
+                return; // a write committed while loading; the row may already be stale
+            }
+            int studentId = student.getStudentId();
+            Student previous = byId.put(studentId, new Student(student));
+            if (previous != null && !previous.getEmail().equals(student.getEmail())) {
+                idByEmail.remove(previous.getEmail(), studentId);
+            }
+            idByEmail.put(student.getEmail(), studentId);
+            missingUntil.remove(studentId);
+            
+            if (!protectedSegment.containsKey(studentId)) {
+                probation.put(studentId, Boolean.TRUE);
+            }
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private static void storeMissing(int studentId, long loadEpoch) {
+        if (NEGATIVE_TTL_MILLIS <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (epoch.get() != loadEpoch) {
+                return;
+            }
+            if (missingUntil.size() >= MAX_SIZE) {
+                missingUntil.clear(); // crude bound; missing IDs are cheap to look up again
+            }
+            missingUntil.put(studentId, System.currentTimeMillis() + NEGATIVE_TTL_MILLIS);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Update recency; skipped when another thread holds the lock so reads never block
+     */
+    private static void recordAccess(int studentId) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            if (probation.remove(studentId) != null) {
+                protectedSegment.put(studentId, Boolean.TRUE);
+                demoteIfNeeded();
+            } else {
+                protectedSegment.get(studentId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private static void demoteIfNeeded() {
+        Iterator<Integer> eldest = protectedSegment.keySet().iterator();
+        while (protectedSegment.size() > PROTECTED_SIZE && eldest.hasNext()) {
+            Integer demoted = eldest.next();
+            eldest.remove();
+            probation.put(demoted, Boolean.TRUE);
+        }
+    }
+    
+    private static void evictIfNeeded() {
+        Iterator<Integer> eldest = probation.keySet().iterator();
+        while (probation.size() + protectedSegment.size() > MAX_SIZE && eldest.hasNext()) {
+            Integer victim = eldest.next();
+            eldest.remove();
+            Student evicted = byId.remove(victim);
+            if (evicted != null) {
+                idByEmail.remove(evicted.getEmail(), victim);
+            }
+            evictions.incrementAndGet();
+        }
+    }
+    
+    private static void removeEntry(int studentId) {
+        Student removed = byId.remove(studentId);
+        if (removed != null) {
+            idByEmail.remove(removed.getEmail(), studentId);
+        }
+        probation.remove(studentId);
+        protectedSegment.remove(studentId);
+    }
+}
@@ -1,20 +1,27 @@
 package com.vitproject.dao;
 
+import com.vitproject.model.Page;
 import com.vitproject.model.Student;
 import com.vitproject.exception.DatabaseException;
 import com.vitproject.exception.StudentNotFoundException;
+import com.vitproject.util.ClassLogger;
 import com.vitproject.util.DatabaseConnection;
 import com.vitproject.util.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Student
  * Demonstrates JDBC API and CRUD operations
  */
 public class StudentDAO {
+    private static final ClassLogger LOG = Logger.forClass(StudentDAO.class);
+    
+    private int batchSize = BatchInsert.DEFAULT_BATCH_SIZE;
     
     /**
      * Create (Insert) operation
@@ -37,27 +44,69 @@ public class StudentDAO {
                     if (rs.next()) {
                         int generatedId = rs.getInt(1);
                         student.setStudentId(generatedId);
-                        Logger.info("Student created with ID: " + generatedId);
-                        DatabaseConnection.commit();
+                        LOG.info(() -> "Student created with ID: " + generatedId);
+                        DatabaseConnection.commit(conn);
+                        StudentCache.invalidateAfterCommit(generatedId);
                         return generatedId;
                     }
                 }
             }
             
-            DatabaseConnection.commit();
+            DatabaseConnection.commit(conn);
             return rowsAffected;
             
         } catch (SQLException e) {
-            try {
-                DatabaseConnection.rollback();
-            } catch (DatabaseException ex) {
-                Logger.error("Failed to rollback: " + ex.getMessage());
-            }
-            Logger.error("Error creating student: " + e.getMessage());
+            LOG.error("Error creating student: " + e.getMessage());
             throw new DatabaseException("Failed to create student: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Batch create operation
+     * Inserts in batches of batchSize, committing once per batch, and writes
+     * the generated IDs back onto the students.
+     */
+    public int createAll(Collection<Student> students) throws DatabaseException {
+        String sql = "INSERT INTO students (name, email, date_of_birth, department) VALUES (?, ?, ?, ?)";
+        
+        if (students.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            int inserted = BatchInsert.insertAll(students, sql, batchSize, (pstmt, student) -> {
+                pstmt.setString(1, student.getName());
+                pstmt.setString(2, student.getEmail());
+                pstmt.setDate(3, Date.valueOf(student.getDateOfBirth()));
+                pstmt.setString(4, student.getDepartment());
+            }, Student::setStudentId);
+            
+            LOG.info(() -> "Created " + inserted + " students in batches of " + batchSize);
+            return inserted;
+            
+        } catch (SQLException e) {
+            LOG.error("Error creating students: " + e.getMessage());
+            throw new DatabaseException("Failed to create students: " + e.getMessage(), e);
+        } finally {
+            // New IDs may have been remembered as missing
+            StudentCache.invalidateAllAfterCommit();
+        }
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    /**
+     * Number of rows sent per executeBatch/commit by createAll
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+    
     /**
      * Read (Select) operation - Get by ID
      */
@@ -71,13 +120,8 @@ public class StudentDAO {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    Student student = new Student();
-                    student.setStudentId(rs.getInt("student_id"));
-                    student.setName(rs.getString("name"));
-                    student.setEmail(rs.getString("email"));
-                    student.setDateOfBirth(rs.getDate("date_of_birth").toLocalDate());
-                    student.setDepartment(rs.getString("department"));
-                    Logger.info("Student retrieved: " + studentId);
+                    Student student = mapStudent(rs);
+                    LOG.info(() -> "Student retrieved: " + studentId);
                     return student;
                 } else {
                     throw new StudentNotFoundException(studentId);
@@ -85,7 +129,32 @@ public class StudentDAO {
             }
             
         } catch (SQLException e) {
-            Logger.error("Error reading student: " + e.getMessage());
+            LOG.error("Error reading student: " + e.getMessage());
+            throw new DatabaseException("Failed to read student: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Read (Select) operation - Get by email
+     */
+    public Student readByEmail(String email) throws DatabaseException, StudentNotFoundException {
+        String sql = "SELECT * FROM students WHERE email = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, email);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapStudent(rs);
+                } else {
+                    throw new StudentNotFoundException("Student with email " + email + " not found");
+                }
+            }
+            
+        } catch (SQLException e) {
+            LOG.error("Error reading student: " + e.getMessage());
             throw new DatabaseException("Failed to read student: " + e.getMessage(), e);
         }
     }
@@ -98,28 +167,141 @@ public class StudentDAO {
         List<Student> students = new ArrayList<>();
         
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
-                Student student = new Student();
-                student.setStudentId(rs.getInt("student_id"));
-                student.setName(rs.getString("name"));
-                student.setEmail(rs.getString("email"));
-                student.setDateOfBirth(rs.getDate("date_of_birth").toLocalDate());
-                student.setDepartment(rs.getString("department"));
-                students.add(student);
+                students.add(mapStudent(rs));
             }
             
-            Logger.info("Retrieved " + students.size() + " students");
+            LOG.info(() -> "Retrieved " + students.size() + " students");
             return students;
             
         } catch (SQLException e) {
-            Logger.error("Error reading all students: " + e.getMessage());
+            LOG.error("Error reading all students: " + e.getMessage());
             throw new DatabaseException("Failed to read students: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Count students with an aggregate query
+     */
+    public int count() throws DatabaseException {
+        String sql = "SELECT COUNT(*) FROM students";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            return rs.next() ? rs.getInt(1) : 0;
+            
+        } catch (SQLException e) {
+            LOG.error("Error counting students: " + e.getMessage());
+            throw new DatabaseException("Failed to count students: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Count the students of one department
+     */
+    public int count(String department) throws DatabaseException {
+        String sql = "SELECT COUNT(*) FROM students WHERE department = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, department);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+            
+        } catch (SQLException e) {
+            LOG.error("Error counting students: " + e.getMessage());
+            throw new DatabaseException("Failed to count students: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Read the distinct departments, in name order
+     */
+    public List<String> readDepartments() throws DatabaseException {
+        String sql = "SELECT DISTINCT department FROM students ORDER BY department";
+        List<String> departments = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                departments.add(rs.getString(1));
+            }
+            return departments;
+            
+        } catch (SQLException e) {
+            LOG.error("Error reading departments: " + e.getMessage());
+            throw new DatabaseException("Failed to read departments: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Read one page of students ordered by ID (keyset pagination)
+     * Seeks past afterStudentId instead of using OFFSET, so deep pages cost
+     * the same as the first one.
+     */
+    public Page<Student> readPage(int afterStudentId, int pageSize) throws DatabaseException {
+        String sql = "SELECT * FROM students WHERE student_id > ? ORDER BY student_id LIMIT ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, afterStudentId);
+            pstmt.setInt(2, pageSize + 1); // one extra row tells us whether another page exists
+            
+            return toPage(pstmt, pageSize);
+            
+        } catch (SQLException e) {
+            LOG.error("Error reading student page: " + e.getMessage());
+            throw new DatabaseException("Failed to read students: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Read one page of a department's students ordered by ID (keyset pagination)
+     */
+    public Page<Student> readPageByDepartment(String department, int afterStudentId, int pageSize)
+            throws DatabaseException {
+        String sql = "SELECT * FROM students WHERE department = ? AND student_id > ? ORDER BY student_id LIMIT ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, department);
+            pstmt.setInt(2, afterStudentId);
+            pstmt.setInt(3, pageSize + 1);
+            
+            return toPage(pstmt, pageSize);
+            
+        } catch (SQLException e) {
+            LOG.error("Error reading student page: " + e.getMessage());
+            throw new DatabaseException("Failed to read students: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Stream all students without materializing the table
+     * Rows are mapped lazily; close the stream (try-with-resources) to release
+     * the connection if it is not consumed to the end.
+     */
+    public Stream<Student> streamAll() throws DatabaseException {
+        return streamAll(ResultSetStream.DEFAULT_FETCH_SIZE);
+    }
+    
+    public Stream<Student> streamAll(int fetchSize) throws DatabaseException {
+        String sql = "SELECT * FROM students ORDER BY student_id";
+        return ResultSetStream.open(sql, fetchSize, pstmt -> {}, StudentDAO::mapStudent);
+    }
+    
     /**
      * Update operation
      */
@@ -136,22 +318,19 @@ public class StudentDAO {
             pstmt.setInt(5, student.getStudentId());
             
             int rowsAffected = pstmt.executeUpdate();
-            DatabaseConnection.commit();
+            DatabaseConnection.commit(conn);
+            StudentCache.invalidateAfterCommit(student.getStudentId());
+            GpaDAO.invalidateAfterCommit(student.getStudentId());
             
             if (rowsAffected > 0) {
-                Logger.info("Student updated: " + student.getStudentId());
+                LOG.info(() -> "Student updated: " + student.getStudentId());
                 return true;
             } else {
                 throw new StudentNotFoundException(student.getStudentId());
             }
             
         } catch (SQLException e) {
-            try {
-                DatabaseConnection.rollback();
-            } catch (DatabaseException ex) {
-                Logger.error("Failed to rollback: " + ex.getMessage());
-            }
-            Logger.error("Error updating student: " + e.getMessage());
+            LOG.error("Error updating student: " + e.getMessage());
             throw new DatabaseException("Failed to update student: " + e.getMessage(), e);
         }
     }
@@ -168,22 +347,20 @@ public class StudentDAO {
             pstmt.setInt(1, studentId);
             
             int rowsAffected = pstmt.executeUpdate();
-            DatabaseConnection.commit();
+            DatabaseConnection.commit(conn);
+            StudentCache.invalidateAfterCommit(studentId);
+            GradeQueryCache.invalidateStudentAfterCommit(studentId);
+            GpaDAO.invalidateAfterCommit(studentId);
             
             if (rowsAffected > 0) {
-                Logger.info("Student deleted: " + studentId);
+                LOG.info(() -> "Student deleted: " + studentId);
                 return true;
             } else {
                 throw new StudentNotFoundException(studentId);
             }
             
         } catch (SQLException e) {
-            try {
-                DatabaseConnection.rollback();
-            } catch (DatabaseException ex) {
-                Logger.error("Failed to rollback: " + ex.getMessage());
-            }
-            Logger.error("Error deleting student: " + e.getMessage());
+            LOG.error("Error deleting student: " + e.getMessage());
             throw new DatabaseException("Failed to delete student: " + e.getMessage(), e);
         }
     }
@@ -202,23 +379,64 @@ public class StudentDAO {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Student student = new Student();
-                    student.setStudentId(rs.getInt("student_id"));
-                    student.setName(rs.getString("name"));
-                    student.setEmail(rs.getString("email"));
-                    student.setDateOfBirth(rs.getDate("date_of_birth").toLocalDate());
-                    student.setDepartment(rs.getString("department"));
-                    students.add(student);
+                    students.add(mapStudent(rs));
                 }
             }
             
-            Logger.info("Found " + students.size() + " students matching: " + name);
+            LOG.info(() -> "Found " + students.size() + " students matching: " + name);
             return students;
             
         } catch (SQLException e) {
-            Logger.error("Error searching students: " + e.getMessage());
+            LOG.error("Error searching students: " + e.getMessage());
             throw new DatabaseException("Failed to search students: " + e.getMessage(), e);
         }
     }
+    
+    /**
+     * Search students by name one page at a time (keyset pagination)
+     */
+    public Page<Student> searchByNamePage(String name, int afterStudentId, int pageSize) throws DatabaseException {
+        String sql = "SELECT * FROM students WHERE name LIKE ? AND student_id > ? ORDER BY student_id LIMIT ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, "%" + name + "%");
+            pstmt.setInt(2, afterStudentId);
+            pstmt.setInt(3, pageSize + 1);
+            
+            return toPage(pstmt, pageSize);
+            
+        } catch (SQLException e) {
+            LOG.error("Error searching students: " + e.getMessage());
+            throw new DatabaseException("Failed to search students: " + e.getMessage(), e);
+        }
+    }
+    
+    private static Page<Student> toPage(PreparedStatement pstmt, int pageSize) throws SQLException {
+        List<Student> students = new ArrayList<>(pageSize + 1);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                students.add(mapStudent(rs));
+            }
+        }
+        
+        Integer nextCursor = null;
+        if (students.size() > pageSize) {
+            students.remove(pageSize);
+            nextCursor = students.get(pageSize - 1).getStudentId();
+        }
+        return new Page<>(students, nextCursor);
+    }
+    
+    private static Student mapStudent(ResultSet rs) throws SQLException {
+        Student student = new Student();
+        student.setStudentId(rs.getInt("student_id"));
+        student.setName(rs.getString("name"));
+        student.setEmail(rs.getString("email"));
+        student.setDateOfBirth(rs.getDate("date_of_birth").toLocalDate());
+        student.setDepartment(rs.getString("department"));
+        return student;
+    }
 }
 
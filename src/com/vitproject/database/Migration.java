@@ -0,0 +1,71 @@
+package com.vitproject.database;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One numbered schema change
+ * The checksum covers the SQL so that edits to an already-applied
+ * migration are detected at startup.
+ */
+public class Migration {
+    private final int version;
+    private final String description;
+    private final List<String> statements;
+    
+    public Migration(int version, String description, String... statements) {
+        if (version < 1) {
+            throw new IllegalArgumentException("Migration version must be positive");
+        }
+        this.version = version;
+        this.description = description;
+        this.statements = Collections.unmodifiableList(Arrays.asList(statements));
+    }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public List<String> getStatements() {
+        return statements;
+    }
+    
+    /**
+     * SHA-256 of the statements, ignoring leading/trailing whitespace of each line
+     */
+    public String getChecksum() {
+        StringBuilder normalized = new StringBuilder();
+        for (String statement : statements) {
+            statement.lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty())
+                    .forEach(line -> normalized.append(line).append('\n'));
+            normalized.append(";\n");
+        }
+        
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(normalized.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "V" + version + " " + description;
+    }
+}
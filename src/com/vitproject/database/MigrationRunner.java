@@ -0,0 +1,129 @@
+package com.vitproject.database;
+
+import com.vitproject.exception.DatabaseException;
+import com.vitproject.util.ClassLogger;
+import com.vitproject.util.DatabaseConnection;
+import com.vitproject.util.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies pending migrations and records them in the schema_version table
+ * Each migration runs in its own transaction together with its
+ * schema_version row, so a failed step leaves no trace and is retried on
+ * the next start. Applied migrations are checked against their checksums.
+ */
+public class MigrationRunner {
+    private static final ClassLogger LOG = Logger.forClass(MigrationRunner.class);
+    private final List<Migration> migrations;
+    
+    public MigrationRunner(List<Migration> migrations) {
+        this.migrations = new ArrayList<>(migrations);
+        this.migrations.sort((a, b) -> Integer.compare(a.getVersion(), b.getVersion()));
+        
+        for (int i = 1; i < this.migrations.size(); i++) {
+            if (this.migrations.get(i).getVersion() == this.migrations.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Duplicate migration version "
+                        + this.migrations.get(i).getVersion());
+            }
+        }
+    }
+    
+    /**
+     * Validate applied migrations and apply any pending ones
+     * @return number of migrations applied
+     */
+    public int migrate() throws DatabaseException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            ensureVersionTable(conn);
+            Map<Integer, String> applied = loadApplied(conn);
+            
+            for (Integer version : applied.keySet()) {
+                if (migrations.stream().noneMatch(m -> m.getVersion() == version)) {
+                    LOG.warning("Database has migration V" + version + " which this build does not know about");
+                }
+            }
+            
+            int count = 0;
+            for (Migration migration : migrations) {
+                String recorded = applied.get(migration.getVersion());
+                if (recorded != null) {
+                    if (!recorded.equals(migration.getChecksum())) {
+                        throw new DatabaseException("Checksum mismatch for migration " + migration
+                                + ": it was modified after being applied");
+                    }
+                    continue;
+                }
+                apply(conn, migration);
+                count++;
+            }
+            
+            int current = migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion();
+            LOG.info("Database schema at version " + current + " (" + count + " migration(s) applied)");
+            return count;
+            
+        } catch (SQLException e) {
+            LOG.error("Error running migrations: " + e.getMessage());
+            throw new DatabaseException("Failed to run migrations: " + e.getMessage(), e);
+        }
+    }
+    
+    private void ensureVersionTable(Connection conn) throws SQLException, DatabaseException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    checksum TEXT NOT NULL,
+                    applied_at TEXT NOT NULL
+                )
+                """);
+        }
+        DatabaseConnection.commit(conn);
+    }
+    
+    private Map<Integer, String> loadApplied(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+    
+    private void apply(Connection conn, Migration migration) throws DatabaseException {
+        try (Statement stmt = conn.createStatement();
+             PreparedStatement record = conn.prepareStatement(
+                     "INSERT INTO schema_version (version, description, checksum, applied_at) VALUES (?, ?, ?, ?)")) {
+            
+            for (String sql : migration.getStatements()) {
+                stmt.execute(sql);
+            }
+            
+            record.setInt(1, migration.getVersion());
+            record.setString(2, migration.getDescription());
+            record.setString(3, migration.getChecksum());
+            record.setString(4, LocalDateTime.now().toString());
+            record.executeUpdate();
+            
+            DatabaseConnection.commit(conn);
+            LOG.info("Applied migration " + migration);
+            
+        } catch (SQLException e) {
+            DatabaseConnection.rollback(conn);
+            LOG.error("Migration " + migration + " failed: " + e.getMessage());
+            throw new DatabaseException("Failed to apply migration " + migration + ": " + e.getMessage(), e);
+        }
+    }
+}
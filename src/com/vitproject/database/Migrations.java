@@ -0,0 +1,87 @@
+package com.vitproject.database;
+
+import java.util.List;
+
+/**
+ * Ordered list of schema migrations
+ * Never edit a migration that has shipped; add a new one instead.
+ */
+public final class Migrations {
+    
+    private Migrations() {}
+    
+    public static List<Migration> all() {
+        return List.of(
+                new Migration(1, "Create students, courses and grades tables",
+                        """
+                        CREATE TABLE IF NOT EXISTS students (
+                            student_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            name TEXT NOT NULL,
+                            email TEXT UNIQUE NOT NULL,
+                            date_of_birth DATE NOT NULL,
+                            department TEXT NOT NULL
+                        )
+                        """,
+                        """
+                        CREATE TABLE IF NOT EXISTS courses (
+                            course_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            course_code TEXT UNIQUE NOT NULL,
+                            course_name TEXT NOT NULL,
+                            credits INTEGER NOT NULL,
+                            instructor TEXT NOT NULL
+                        )
+                        """,
+                        """
+                        CREATE TABLE IF NOT EXISTS grades (
+                            grade_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            student_id INTEGER NOT NULL,
+                            course_id INTEGER NOT NULL,
+                            marks REAL NOT NULL,
+                            grade TEXT NOT NULL,
+                            FOREIGN KEY (student_id) REFERENCES students(student_id) ON DELETE CASCADE,
+                            FOREIGN KEY (course_id) REFERENCES courses(course_id) ON DELETE CASCADE,
+                            UNIQUE(student_id, course_id)
+                        )
+                        """),
+                        
+                // grades(student_id) is already covered by the UNIQUE(student_id, course_id) index.
+                // The name index serves ordering and prefix matches; '%term%' searches still scan.
+                new Migration(2, "Add indexes for course, department and name lookups",
+                        "CREATE INDEX IF NOT EXISTS idx_grades_course_id ON grades(course_id)",
+                        "CREATE INDEX IF NOT EXISTS idx_students_department ON students(department)",
+                        "CREATE INDEX IF NOT EXISTS idx_students_name ON students(name)"),
+                        
+                // One row per scheduled job: the window it last ran for and how that run ended
+                new Migration(3, "Create job_runs table for scheduled job state",
+                        """
+                        CREATE TABLE IF NOT EXISTS job_runs (
+                            job_name TEXT PRIMARY KEY,
+                            scheduled_at TEXT NOT NULL,
+                            started_at TEXT NOT NULL,
+                            finished_at TEXT,
+                            status TEXT NOT NULL,
+                            message TEXT
+                        )
+                        """),
+                        
+                // Manual runs own no trigger window: scheduled_at becomes nullable (a job may have
+                // only run manually so far) and a flag tells which kind of run the status belongs to
+                new Migration(4, "Track manual runs separately from scheduled windows in job_runs",
+                        """
+                        CREATE TABLE job_runs_new (
+                            job_name TEXT PRIMARY KEY,
+                            scheduled_at TEXT,
+                            started_at TEXT NOT NULL,
+                            finished_at TEXT,
+                            status TEXT NOT NULL,
+                            message TEXT,
+                            manual INTEGER NOT NULL DEFAULT 0
+                        )
+                        """,
+                        "INSERT INTO job_runs_new (job_name, scheduled_at, started_at, finished_at, status, message) " +
+                        "SELECT job_name, scheduled_at, started_at, finished_at, status, message FROM job_runs",
+                        "DROP TABLE job_runs",
+                        "ALTER TABLE job_runs_new RENAME TO job_runs")
+        );
+    }
+}
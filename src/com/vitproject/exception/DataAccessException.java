@@ -0,0 +1,11 @@
+package com.vitproject.exception;
+
+/**
+ * Unchecked exception for database errors raised while consuming a lazy
+ * result stream, where checked exceptions cannot be thrown
+ */
+public class DataAccessException extends RuntimeException {
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,61 @@
+package com.vitproject.model;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk transcript run
+ * Failures are keyed by student ID with the reason that student's report failed.
+ */
+public class BulkReportSummary {
+    private final int total;
+    private final int succeeded;
+    private final Map<Integer, String> failures;
+    private final long elapsedMillis;
+    private final Path outputDirectory;
+    
+    public BulkReportSummary(int total, int succeeded, Map<Integer, String> failures, long elapsedMillis,
+                             Path outputDirectory) {
+        this.total = total;
+        this.succeeded = succeeded;
+        this.failures = Collections.unmodifiableMap(failures);
+        this.elapsedMillis = elapsedMillis;
+        this.outputDirectory = outputDirectory;
+    }
+    
+    public int getTotal() {
+        return total;
+    }
+    
+    public int getSucceeded() {
+        return succeeded;
+    }
+    
+    public int getFailed() {
+        return failures.size();
+    }
+    
+    public Map<Integer, String> getFailures() {
+        return failures;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public Path getOutputDirectory() {
+        return outputDirectory;
+    }
+    
+    @Override
+    public String toString() {
+        return "BulkReportSummary{" +
+                "total=" + total +
+                ", succeeded=" + succeeded +
+                ", failed=" + failures.size() +
+                ", elapsedMillis=" + elapsedMillis +
+                ", outputDirectory=" + outputDirectory +
+                '}';
+    }
+}
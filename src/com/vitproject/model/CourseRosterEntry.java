@@ -0,0 +1,62 @@
+package com.vitproject.model;
+
+/**
+ * Read-only view of one grade in a course together with the student's name and department
+ * Produced row by row by the streaming course roster query.
+ */
+public class CourseRosterEntry {
+    private final int gradeId;
+    private final int studentId;
+    private final String studentName;
+    private final String department;
+    private final double marks;
+    private final String grade;
+    
+    // Parameterized constructor
+    public CourseRosterEntry(int gradeId, int studentId, String studentName, String department,
+                             double marks, String grade) {
+        this.gradeId = gradeId;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.department = department;
+        this.marks = marks;
+        this.grade = grade;
+    }
+    
+    // Getters
+    public int getGradeId() {
+        return gradeId;
+    }
+    
+    public int getStudentId() {
+        return studentId;
+    }
+    
+    public String getStudentName() {
+        return studentName;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public double getMarks() {
+        return marks;
+    }
+    
+    public String getGrade() {
+        return grade;
+    }
+    
+    @Override
+    public String toString() {
+        return "CourseRosterEntry{" +
+                "gradeId=" + gradeId +
+                ", studentId=" + studentId +
+                ", studentName='" + studentName + '\'' +
+                ", department='" + department + '\'' +
+                ", marks=" + marks +
+                ", grade='" + grade + '\'' +
+                '}';
+    }
+}
@@ -1,11 +1,19 @@
 package com.vitproject.model;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
  * Grade model class representing student-course grade relationship
  */
 public class Grade {
+    /**
+     * Grade points on the 10-point scale for each letter produced by calculateGrade()
+     */
+    public static final Map<String, Integer> GRADE_POINTS = gradePointScale();
+    
     private int gradeId;
     private int studentId;
     private int courseId;
@@ -99,6 +107,24 @@ public class Grade {
         }
     }
     
+    /**
+     * Grade points for a letter grade; unknown letters count as 0
+     */
+    public static int gradePoints(String letter) {
+        return letter == null ? 0 : GRADE_POINTS.getOrDefault(letter, 0);
+    }
+    
+    private static Map<String, Integer> gradePointScale() {
+        Map<String, Integer> points = new LinkedHashMap<>();
+        points.put("A+", 10);
+        points.put("A", 9);
+        points.put("B", 8);
+        points.put("C", 7);
+        points.put("D", 6);
+        points.put("F", 0);
+        return Collections.unmodifiableMap(points);
+    }
+    
     @Override
     public String toString() {
         return "Grade{" +
@@ -0,0 +1,83 @@
+package com.vitproject.model;
+
+/**
+ * Read-only view of a grade joined with its course
+ * Used for transcripts so they can be rendered from a single query.
+ */
+public class GradeDetail {
+    private final int gradeId;
+    private final int studentId;
+    private final int courseId;
+    private final double marks;
+    private final String grade;
+    private final String courseCode;
+    private final String courseName;
+    private final int credits;
+    
+    // Parameterized constructor
+    public GradeDetail(int gradeId, int studentId, int courseId, double marks, String grade,
+                       String courseCode, String courseName, int credits) {
+        this.gradeId = gradeId;
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.marks = marks;
+        this.grade = grade;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.credits = credits;
+    }
+    
+    // Getters
+    public int getGradeId() {
+        return gradeId;
+    }
+    
+    public int getStudentId() {
+        return studentId;
+    }
+    
+    public int getCourseId() {
+        return courseId;
+    }
+    
+    public double getMarks() {
+        return marks;
+    }
+    
+    public String getGrade() {
+        return grade;
+    }
+    
+    public String getCourseCode() {
+        return courseCode;
+    }
+    
+    public String getCourseName() {
+        return courseName;
+    }
+    
+    public int getCredits() {
+        return credits;
+    }
+    
+    /**
+     * False when the grade refers to a course that no longer exists
+     */
+    public boolean hasCourse() {
+        return courseCode != null;
+    }
+    
+    @Override
+    public String toString() {
+        return "GradeDetail{" +
+                "gradeId=" + gradeId +
+                ", studentId=" + studentId +
+                ", courseId=" + courseId +
+                ", courseCode='" + courseCode + '\'' +
+                ", courseName='" + courseName + '\'' +
+                ", credits=" + credits +
+                ", marks=" + marks +
+                ", grade='" + grade + '\'' +
+                '}';
+    }
+}
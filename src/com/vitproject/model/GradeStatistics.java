@@ -0,0 +1,84 @@
+package com.vitproject.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Aggregated marks for a group of grades (all grades, one course or one department)
+ */
+public class GradeStatistics {
+    private final String scope;
+    private final long count;
+    private final double average;
+    private final double minimum;
+    private final double maximum;
+    private final double standardDeviation;
+    private final Map<String, Long> letterCounts;
+    
+    // Parameterized constructor
+    public GradeStatistics(String scope, long count, double average, double minimum, double maximum) {
+        this(scope, count, average, minimum, maximum, Double.NaN, Collections.emptyMap());
+    }
+    
+    /**
+     * Statistics including the spread of marks and how many grades got each letter
+     */
+    public GradeStatistics(String scope, long count, double average, double minimum, double maximum,
+                           double standardDeviation, Map<String, Long> letterCounts) {
+        this.scope = scope;
+        this.count = count;
+        this.average = average;
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.standardDeviation = standardDeviation;
+        this.letterCounts = Collections.unmodifiableMap(letterCounts);
+    }
+    
+    // Getters
+    public String getScope() {
+        return scope;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getAverage() {
+        return average;
+    }
+    
+    public double getMinimum() {
+        return minimum;
+    }
+    
+    public double getMaximum() {
+        return maximum;
+    }
+    
+    /**
+     * Population standard deviation of marks, or NaN when it was not computed
+     */
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+    
+    /**
+     * Number of grades per letter (A+, A, B, C, D, F); empty when not computed
+     */
+    public Map<String, Long> getLetterCounts() {
+        return letterCounts;
+    }
+    
+    @Override
+    public String toString() {
+        return "GradeStatistics{" +
+                "scope='" + scope + '\'' +
+                ", count=" + count +
+                ", average=" + average +
+                ", minimum=" + minimum +
+                ", maximum=" + maximum +
+                ", standardDeviation=" + standardDeviation +
+                ", letterCounts=" + letterCounts +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package com.vitproject.model;
+
+import java.time.Instant;
+
+/**
+ * Last recorded run of a scheduled job
+ * scheduledAt is the latest trigger window the job ran for (or that a manual
+ * run stood in for), and is null until it has one. The other fields describe
+ * the last run, scheduled or manual; finishedAt is null while it is in progress.
+ */
+public class JobRun {
+    
+    public enum Status {
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+    
+    private final String jobName;
+    private final Instant scheduledAt;
+    private final Instant startedAt;
+    private final Instant finishedAt;
+    private final Status status;
+    private final String message;
+    private final boolean manual;
+    
+    public JobRun(String jobName, Instant scheduledAt, Instant startedAt, Instant finishedAt,
+                  Status status, String message, boolean manual) {
+        this.jobName = jobName;
+        this.scheduledAt = scheduledAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.status = status;
+        this.message = message;
+        this.manual = manual;
+    }
+    
+    public String getJobName() {
+        return jobName;
+    }
+    
+    public Instant getScheduledAt() {
+        return scheduledAt;
+    }
+    
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+    
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    /**
+     * Whether the last run was started by hand rather than by the trigger
+     */
+    public boolean isManual() {
+        return manual;
+    }
+    
+    /**
+     * Whether the run ended, successfully or not; a RUNNING row left behind by a crash is not
+     */
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+    
+    /**
+     * Whether the window at scheduledAt is done; only an unfinished scheduled run leaves it open
+     */
+    public boolean isWindowFinished() {
+        return manual || isFinished();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s: %s %s (started %s%s)%s", jobName, status,
+                manual ? "manual run" : "for " + scheduledAt, startedAt,
+                finishedAt != null ? ", finished " + finishedAt : "", message != null ? " - " + message : "");
+    }
+}
@@ -0,0 +1,46 @@
+package com.vitproject.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing
+ * The next cursor is the last ID on this page; pass it back to fetch the
+ * following page. It is null when there are no more rows.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final Integer nextCursor;
+    
+    public Page(List<T> items, Integer nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<T> getItems() {
+        return items;
+    }
+    
+    /**
+     * Continuation token for the next page, or null on the last page
+     */
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+    
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+    
+    @Override
+    public String toString() {
+        return "Page{" +
+                "size=" + items.size() +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
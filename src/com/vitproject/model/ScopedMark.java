@@ -0,0 +1,50 @@
+package com.vitproject.model;
+
+/**
+ * One grade's marks with the course and department it counts towards
+ * Row type of the streaming statistics queries.
+ */
+public class ScopedMark {
+    private final int courseId;
+    private final String department;
+    private final double marks;
+    private final String grade;
+    
+    // Parameterized constructor
+    public ScopedMark(int courseId, String department, double marks, String grade) {
+        this.courseId = courseId;
+        this.department = department;
+        this.marks = marks;
+        this.grade = grade;
+    }
+    
+    // Getters
+    public int getCourseId() {
+        return courseId;
+    }
+    
+    /**
+     * Department of the grade's student, or null if the student no longer exists
+     */
+    public String getDepartment() {
+        return department;
+    }
+    
+    public double getMarks() {
+        return marks;
+    }
+    
+    public String getGrade() {
+        return grade;
+    }
+    
+    @Override
+    public String toString() {
+        return "ScopedMark{" +
+                "courseId=" + courseId +
+                ", department='" + department + '\'' +
+                ", marks=" + marks +
+                ", grade='" + grade + '\'' +
+                '}';
+    }
+}
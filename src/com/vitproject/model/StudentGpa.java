@@ -0,0 +1,71 @@
+package com.vitproject.model;
+
+/**
+ * A student's credit-weighted cumulative GPA on the 10-point scale
+ * CGPA = sum(grade points x course credits) / sum(course credits).
+ */
+public class StudentGpa {
+    private final int studentId;
+    private final String studentName;
+    private final String department;
+    private final int gradedCourses;
+    private final int totalCredits;
+    private final long creditPoints;
+    
+    // Parameterized constructor
+    public StudentGpa(int studentId, String studentName, String department,
+                      int gradedCourses, int totalCredits, long creditPoints) {
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.department = department;
+        this.gradedCourses = gradedCourses;
+        this.totalCredits = totalCredits;
+        this.creditPoints = creditPoints;
+    }
+    
+    // Getters
+    public int getStudentId() {
+        return studentId;
+    }
+    
+    public String getStudentName() {
+        return studentName;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public int getGradedCourses() {
+        return gradedCourses;
+    }
+    
+    public int getTotalCredits() {
+        return totalCredits;
+    }
+    
+    /**
+     * Sum of grade points weighted by course credits
+     */
+    public long getCreditPoints() {
+        return creditPoints;
+    }
+    
+    /**
+     * Cumulative GPA, or 0 when the student has no credits yet
+     */
+    public double getCgpa() {
+        return totalCredits == 0 ? 0.0 : (double) creditPoints / totalCredits;
+    }
+    
+    @Override
+    public String toString() {
+        return "StudentGpa{" +
+                "studentId=" + studentId +
+                ", studentName='" + studentName + '\'' +
+                ", department='" + department + '\'' +
+                ", totalCredits=" + totalCredits +
+                ", cgpa=" + String.format("%.2f", getCgpa()) +
+                '}';
+    }
+}
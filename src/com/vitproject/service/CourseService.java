@@ -4,7 +4,9 @@ import com.vitproject.dao.CourseDAO;
 import com.vitproject.model.Course;
 import com.vitproject.exception.CustomException;
 import com.vitproject.exception.DatabaseException;
+import com.vitproject.util.ClassLogger;
 import com.vitproject.util.Logger;
+import com.vitproject.util.TransactionTemplate;
 
 import java.util.List;
 
@@ -12,6 +14,7 @@ import java.util.List;
  * Service layer for Course operations
  */
 public class CourseService {
+    private static final ClassLogger LOG = Logger.forClass(CourseService.class);
     private CourseDAO courseDAO;
     
     public CourseService() {
@@ -36,12 +39,12 @@ public class CourseService {
             course.setInstructor(instructor.trim());
             
             int id = courseDAO.create(course);
-            Logger.info("Course service: Added course with ID " + id);
+            LOG.info(() -> "Course service: Added course with ID " + id);
             
             return course;
             
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to add course: " + e.getMessage(), e);
         }
     }
@@ -50,7 +53,7 @@ public class CourseService {
         try {
             return courseDAO.read(courseId);
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to get course: " + e.getMessage(), e);
         }
     }
@@ -59,7 +62,7 @@ public class CourseService {
         try {
             return courseDAO.readAll();
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to get courses: " + e.getMessage(), e);
         }
     }
@@ -68,16 +71,18 @@ public class CourseService {
         try {
             return courseDAO.update(course);
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to update course: " + e.getMessage(), e);
         }
     }
     
     public boolean deleteCourse(int courseId) throws CustomException {
         try {
-            return courseDAO.delete(courseId);
+            boolean deleted = courseDAO.delete(courseId);
+            TransactionTemplate.afterCommit(GradeStatisticsStore.getInstance()::invalidate);
+            return deleted;
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to delete course: " + e.getMessage(), e);
         }
     }
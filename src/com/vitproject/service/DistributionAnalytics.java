@@ -0,0 +1,103 @@
+package com.vitproject.service;
+
+import com.vitproject.dao.GradeDAO;
+import com.vitproject.exception.DataAccessException;
+import com.vitproject.exception.DatabaseException;
+import com.vitproject.model.ScopedMark;
+import com.vitproject.util.ClassLogger;
+import com.vitproject.util.Logger;
+import com.vitproject.util.MarksSketch;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Marks distributions (percentiles, standard deviation, histograms) per course and department
+ *
+ * One streaming pass over the grades table feeds a MarksSketch per scope.
+ * The rows are read by one thread and folded in parallel: each worker fills
+ * its own set of sketches, and the partial results are merged at the end.
+ * Memory depends on the number of courses and departments, not on the
+ * number of grades.
+ */
+public class DistributionAnalytics {
+    private static final ClassLogger LOG = Logger.forClass(DistributionAnalytics.class);
+    private GradeDAO gradeDAO;
+    
+    public DistributionAnalytics() {
+        this.gradeDAO = new GradeDAO();
+    }
+    
+    /**
+     * Distributions of all grades, by course and by department
+     */
+    public Result analyze() throws DatabaseException {
+        long start = System.nanoTime();
+        Result result;
+        try (Stream<ScopedMark> marks = gradeDAO.streamScopedMarks()) {
+            result = marks.parallel().collect(collector());
+        } catch (DataAccessException e) {
+            throw new DatabaseException("Failed to analyze marks distribution: " + e.getMessage(), e);
+        }
+        
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        LOG.info(() -> "Analyzed distribution of " + result.getOverall().getCount() + " grades in " +
+                elapsedMillis + " ms");
+        return result;
+    }
+    
+    /**
+     * Collector folding marks into per-scope sketches; safe for parallel streams
+     */
+    public static Collector<ScopedMark, Result, Result> collector() {
+        return Collector.of(Result::new, Result::add, Result::merge,
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+    
+    /**
+     * Sketches for the overall population and each course and department
+     */
+    public static class Result {
+        private final MarksSketch overall = new MarksSketch();
+        private final Map<Integer, MarksSketch> byCourse = new HashMap<>();
+        private final Map<String, MarksSketch> byDepartment = new HashMap<>();
+        
+        private void add(ScopedMark mark) {
+            overall.add(mark.getMarks());
+            byCourse.computeIfAbsent(mark.getCourseId(), id -> new MarksSketch()).add(mark.getMarks());
+            if (mark.getDepartment() != null) {
+                byDepartment.computeIfAbsent(mark.getDepartment(), name -> new MarksSketch()).add(mark.getMarks());
+            }
+        }
+        
+        private Result merge(Result other) {
+            overall.merge(other.overall);
+            other.byCourse.forEach((courseId, sketch) -> byCourse.merge(courseId, sketch, MarksSketch::merge));
+            other.byDepartment.forEach((department, sketch) ->
+                    byDepartment.merge(department, sketch, MarksSketch::merge));
+            return this;
+        }
+        
+        public MarksSketch getOverall() {
+            return overall;
+        }
+        
+        /**
+         * Sketches keyed by course ID in ascending order
+         */
+        public Map<Integer, MarksSketch> getByCourse() {
+            return Collections.unmodifiableMap(new TreeMap<>(byCourse));
+        }
+        
+        /**
+         * Sketches keyed by department in alphabetical order
+         */
+        public Map<String, MarksSketch> getByDepartment() {
+            return Collections.unmodifiableMap(new TreeMap<>(byDepartment));
+        }
+    }
+}
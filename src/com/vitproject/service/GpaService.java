@@ -0,0 +1,113 @@
+package com.vitproject.service;
+
+import com.vitproject.dao.GpaDAO;
+import com.vitproject.exception.CustomException;
+import com.vitproject.exception.DataAccessException;
+import com.vitproject.exception.DatabaseException;
+import com.vitproject.exception.StudentNotFoundException;
+import com.vitproject.model.StudentGpa;
+import com.vitproject.util.ClassLogger;
+import com.vitproject.util.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Service layer for credit-weighted GPA
+ *
+ * Letters map to points A+=10, A=9, B=8, C=7, D=6, F=0 (Grade.GRADE_POINTS),
+ * weighted by course credits.
+ */
+public class GpaService {
+    private static final ClassLogger LOG = Logger.forClass(GpaService.class);
+    /**
+     * Ranking order: higher CGPA first, then more credits, then lower student ID
+     */
+    public static final Comparator<StudentGpa> RANKING = Comparator
+            .comparingDouble(StudentGpa::getCgpa).reversed()
+            .thenComparing(Comparator.comparingInt(StudentGpa::getTotalCredits).reversed())
+            .thenComparingInt(StudentGpa::getStudentId);
+            
+    private GpaDAO gpaDAO;
+    
+    public GpaService() {
+        this.gpaDAO = new GpaDAO();
+    }
+    
+    public StudentGpa getStudentGpa(int studentId) throws CustomException {
+        try {
+            StudentGpa gpa = gpaDAO.read(studentId);
+            if (gpa == null) {
+                throw new StudentNotFoundException(studentId);
+            }
+            return gpa;
+        } catch (DatabaseException e) {
+            LOG.error("Service error: " + e.getMessage());
+            throw new CustomException("Failed to get GPA: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * The top students by CGPA, best first; students without credits are not ranked
+     * All GPAs are computed by one grouped query and the top entries are
+     * selected in parallel with bounded heaps, so only `limit` students are
+     * ever sorted.
+     * @param department department to rank, or null/empty for all students
+     */
+    public List<StudentGpa> rankStudents(String department, int limit) throws CustomException {
+        if (limit < 1) {
+            throw new CustomException("Number of students to rank must be at least 1", "VALIDATION_ERROR");
+        }
+        
+        String scope = department == null || department.isBlank() ? null : department.trim();
+        try (Stream<StudentGpa> gpas = gpaDAO.streamAll(scope)) {
+            List<StudentGpa> ranked = gpas.parallel()
+                    .filter(gpa -> gpa.getTotalCredits() > 0)
+                    .collect(topK(limit, RANKING));
+            LOG.info(() -> "Ranked top " + ranked.size() + " students by CGPA" +
+                    (scope == null ? "" : " in " + scope));
+            return ranked;
+        } catch (DatabaseException | DataAccessException e) {
+            LOG.error("Service error: " + e.getMessage());
+            throw new CustomException("Failed to rank students: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Collector keeping the first k elements in the given order
+     * Each partition keeps a heap of at most k elements whose head is the
+     * weakest, and partitions are combined by merging heaps, so the work is
+     * O(n log k) and only the k survivors are sorted at the end.
+     */
+    static <T> Collector<T, PriorityQueue<T>, List<T>> topK(int k, Comparator<? super T> order) {
+        Comparator<? super T> weakestFirst = order.reversed();
+        return Collector.of(
+                () -> new PriorityQueue<>(k + 1, weakestFirst),
+                (heap, element) -> offer(heap, element, k, order),
+                (heap, other) -> {
+                    for (T element : other) {
+                        offer(heap, element, k, order);
+                    }
+                    return heap;
+                },
+                heap -> {
+                    List<T> best = new ArrayList<>(heap);
+                    best.sort(order);
+                    return best;
+                },
+                Collector.Characteristics.UNORDERED);
+    }
+    
+    private static <T> void offer(PriorityQueue<T> heap, T element, int k, Comparator<? super T> order) {
+        if (heap.size() < k) {
+            heap.add(element);
+        } else if (order.compare(element, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+}
@@ -1,21 +1,36 @@
 package com.vitproject.service;
 
 import com.vitproject.dao.GradeDAO;
+import com.vitproject.dao.StudentCache;
+import com.vitproject.dao.StudentDAO;
 import com.vitproject.model.Grade;
 import com.vitproject.exception.CustomException;
 import com.vitproject.exception.DatabaseException;
+import com.vitproject.exception.StudentNotFoundException;
+import com.vitproject.util.ClassLogger;
 import com.vitproject.util.Logger;
+import com.vitproject.util.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service layer for Grade operations
+ *
+ * Every grade written here is also recorded in GradeStatisticsStore so the
+ * summary statistics stay current without rescanning the grades table.
  */
 public class GradeService {
+    private static final ClassLogger LOG = Logger.forClass(GradeService.class);
     private GradeDAO gradeDAO;
+    private StudentCache studentCache;
+    private GradeStatisticsStore statisticsStore;
     
     public GradeService() {
         this.gradeDAO = new GradeDAO();
+        this.studentCache = new StudentCache(new StudentDAO());
+        this.statisticsStore = GradeStatisticsStore.getInstance();
     }
     
     public Grade addGrade(int studentId, int courseId, double marks) throws CustomException {
@@ -30,31 +45,103 @@ public class GradeService {
             grade.setMarks(marks);
             grade.calculateGrade(); // Method to calculate grade from marks
             
-            int id = gradeDAO.create(grade);
-            Logger.info("Grade service: Added grade with ID " + id);
+            int id;
+            if (TransactionTemplate.isActive()) {
+                id = gradeDAO.create(grade);
+                TransactionTemplate.afterCommit(statisticsStore::invalidate);
+            } else {
+                statisticsStore.beginWrite();
+                try {
+                    id = gradeDAO.create(grade);
+                    recordAdded(grade);
+                } finally {
+                    statisticsStore.endWrite();
+                }
+            }
+            LOG.info(() -> "Grade service: Added grade with ID " + id);
             
             return grade;
             
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to add grade: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Record marks for many students in one course as a single transaction
+     * Either every grade is stored or none are.
+     */
+    public List<Grade> addGrades(int courseId, Map<Integer, Double> marksByStudent) throws CustomException {
+        for (Map.Entry<Integer, Double> entry : marksByStudent.entrySet()) {
+            if (entry.getValue() < 0 || entry.getValue() > 100) {
+                throw new CustomException("Marks for student " + entry.getKey() + " must be between 0 and 100",
+                        "VALIDATION_ERROR");
+            }
+        }
+        
+        List<Grade> grades = new ArrayList<>();
+        for (Map.Entry<Integer, Double> entry : marksByStudent.entrySet()) {
+            Grade grade = new Grade();
+            grade.setStudentId(entry.getKey());
+            grade.setCourseId(courseId);
+            grade.setMarks(entry.getValue());
+            grade.calculateGrade();
+            grades.add(grade);
+        }
+        
+        boolean joined = TransactionTemplate.isActive();
+        if (!joined) {
+            statisticsStore.beginWrite();
+        }
+        try {
+            TransactionTemplate.inTransaction(() -> gradeDAO.createAll(grades));
+            if (joined) {
+                TransactionTemplate.afterCommit(statisticsStore::invalidate);
+            } else {
+                for (Grade grade : grades) {
+                    recordAdded(grade);
+                }
+            }
+        } catch (DatabaseException e) {
+            LOG.error("Service error: " + e.getMessage());
+            throw new CustomException("Failed to add grades: " + e.getMessage(), e);
+        } finally {
+            if (!joined) {
+                statisticsStore.endWrite();
+            }
+        }
+        
+        LOG.info(() -> "Grade service: Added " + grades.size() + " grades for course " + courseId);
+        return grades;
+    }
+    
     public List<Grade> getStudentGrades(int studentId) throws CustomException {
         try {
             return gradeDAO.getGradesByStudent(studentId);
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to get student grades: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Number of grades per student ID; students without grades are absent
+     */
+    public Map<Integer, Integer> getGradeCountsByStudent() throws CustomException {
+        try {
+            return gradeDAO.countGradesByStudent();
+        } catch (DatabaseException e) {
+            LOG.error("Service error: " + e.getMessage());
+            throw new CustomException("Failed to count grades: " + e.getMessage(), e);
+        }
+    }
+    
     public List<Grade> getCourseGrades(int courseId) throws CustomException {
         try {
             return gradeDAO.getGradesByCourse(courseId);
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to get course grades: " + e.getMessage(), e);
         }
     }
@@ -66,21 +153,81 @@ public class GradeService {
             }
             
             grade.calculateGrade();
-            return gradeDAO.update(grade);
+            if (TransactionTemplate.isActive()) {
+                TransactionTemplate.afterCommit(statisticsStore::invalidate);
+                return gradeDAO.update(grade);
+            }
+            
+            statisticsStore.beginWrite();
+            try {
+                Grade previous = gradeDAO.read(grade.getGradeId());
+                boolean updated = gradeDAO.update(grade);
+                if (updated && previous != null) {
+                    String department = departmentOf(previous.getStudentId());
+                    statisticsStore.recordRemoved(previous.getCourseId(), department,
+                            previous.getMarks(), previous.getGrade());
+                    statisticsStore.recordAdded(previous.getCourseId(), department,
+                            grade.getMarks(), grade.getGrade());
+                } else if (updated) {
+                    statisticsStore.invalidate();
+                }
+                return updated;
+            } finally {
+                statisticsStore.endWrite();
+            }
             
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to update grade: " + e.getMessage(), e);
         }
     }
     
     public boolean deleteGrade(int gradeId) throws CustomException {
         try {
-            return gradeDAO.delete(gradeId);
+            if (TransactionTemplate.isActive()) {
+                TransactionTemplate.afterCommit(statisticsStore::invalidate);
+                return gradeDAO.delete(gradeId);
+            }
+            
+            statisticsStore.beginWrite();
+            try {
+                Grade previous = gradeDAO.read(gradeId);
+                boolean deleted = gradeDAO.delete(gradeId);
+                if (deleted && previous != null) {
+                    statisticsStore.recordRemoved(previous.getCourseId(), departmentOf(previous.getStudentId()),
+                            previous.getMarks(), previous.getGrade());
+                } else if (deleted) {
+                    statisticsStore.invalidate();
+                }
+                return deleted;
+            } finally {
+                statisticsStore.endWrite();
+            }
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to delete grade: " + e.getMessage(), e);
         }
     }
+    
+    private void recordAdded(Grade grade) {
+        statisticsStore.recordAdded(grade.getCourseId(), departmentOf(grade.getStudentId()),
+                grade.getMarks(), grade.getGrade());
+    }
+    
+    /**
+     * Department of a grade's student, or null when the student no longer exists
+     * If it cannot be looked up the statistics are rebuilt instead of guessed.
+     */
+    private String departmentOf(int studentId) {
+        try {
+            return studentCache.read(studentId).getDepartment();
+        } catch (StudentNotFoundException e) {
+            return null;
+        } catch (DatabaseException e) {
+            LOG.warning("Could not look up department for grade statistics: " + e.getMessage());
+            statisticsStore.invalidate();
+            return null;
+        }
+    }
 }
 
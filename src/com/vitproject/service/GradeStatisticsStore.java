@@ -0,0 +1,357 @@
+package com.vitproject.service;
+
+import com.vitproject.dao.GradeDAO;
+import com.vitproject.exception.DataAccessException;
+import com.vitproject.exception.DatabaseException;
+import com.vitproject.model.GradeStatistics;
+import com.vitproject.model.ScopedMark;
+import com.vitproject.util.ClassLogger;
+import com.vitproject.util.Logger;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Materialized grade statistics for all grades, each course and each department
+ *
+ * Built once from a streaming pass over the grades table, then kept current
+ * by GradeService, which records every grade it adds, updates or deletes.
+ * Reads are O(1) per scope. Each scope holds count, sum, sum of squares,
+ * min/max and a letter histogram; when the current minimum or maximum is
+ * deleted that extreme is re-read from the database on the next access.
+ *
+ * Writes that bypass GradeService (or run inside a caller's transaction)
+ * call invalidate() and the store is rebuilt on the next read. A rebuild is
+ * only installed if no recorded write overlapped it, so a change is never
+ * counted twice.
+ */
+public class GradeStatisticsStore {
+    private static final ClassLogger LOG = Logger.forClass(GradeStatisticsStore.class);
+    private static final List<String> LETTERS = List.of("A+", "A", "B", "C", "D", "F");
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+    private static final GradeStatisticsStore INSTANCE = new GradeStatisticsStore(new GradeDAO());
+    
+    private final GradeDAO gradeDAO;
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    // All fields below are guarded by this
+    private Snapshot state;
+    private long modCount;
+    
+    GradeStatisticsStore(GradeDAO gradeDAO) {
+        this.gradeDAO = gradeDAO;
+    }
+    
+    public static GradeStatisticsStore getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Announce a grade write whose effect will be recorded; pair with endWrite() in a finally block
+     */
+    void beginWrite() {
+        writesInFlight.incrementAndGet();
+    }
+    
+    void endWrite() {
+        writesInFlight.decrementAndGet();
+    }
+    
+    synchronized void recordAdded(int courseId, String department, double marks, String letter) {
+        modCount++;
+        if (state != null) {
+            state.add(courseId, department, marks, letter);
+        }
+    }
+    
+    synchronized void recordRemoved(int courseId, String department, double marks, String letter) {
+        modCount++;
+        if (state != null) {
+            state.overall.remove(marks, letter);
+            removeFrom(state.byCourse, courseId, marks, letter);
+            if (department != null) {
+                removeFrom(state.byDepartment, department, marks, letter);
+            }
+        }
+    }
+    
+    /**
+     * Discard the materialized statistics; they are rebuilt on the next read
+     */
+    public synchronized void invalidate() {
+        modCount++;
+        state = null;
+    }
+    
+    public GradeStatistics getOverall() throws DatabaseException {
+        Snapshot snapshot = ensureLoaded();
+        Aggregate aggregate;
+        long copiedAt;
+        synchronized (this) {
+            aggregate = snapshot.overall.copy();
+            copiedAt = modCount;
+        }
+        if (aggregate.hasStaleExtremes()) {
+            refreshExtremes(snapshot.overall, aggregate, copiedAt, gradeDAO.getOverallStatistics());
+        }
+        return aggregate.toStatistics("All");
+    }
+    
+    public GradeStatistics getForCourse(int courseId) throws DatabaseException {
+        return getForCourse(ensureLoaded(), courseId);
+    }
+    
+    private GradeStatistics getForCourse(Snapshot snapshot, int courseId) throws DatabaseException {
+        Aggregate current;
+        Aggregate aggregate;
+        long copiedAt;
+        synchronized (this) {
+            current = snapshot.byCourse.get(courseId);
+            aggregate = current != null ? current.copy() : new Aggregate();
+            copiedAt = modCount;
+        }
+        if (aggregate.hasStaleExtremes()) {
+            refreshExtremes(current, aggregate, copiedAt, gradeDAO.getStatisticsForCourse(courseId));
+        }
+        return aggregate.toStatistics("Course ID " + courseId);
+    }
+    
+    public GradeStatistics getForDepartment(String department) throws DatabaseException {
+        return getForDepartment(ensureLoaded(), department);
+    }
+    
+    private GradeStatistics getForDepartment(Snapshot snapshot, String department) throws DatabaseException {
+        Aggregate current;
+        Aggregate aggregate;
+        long copiedAt;
+        synchronized (this) {
+            current = snapshot.byDepartment.get(department);
+            aggregate = current != null ? current.copy() : new Aggregate();
+            copiedAt = modCount;
+        }
+        if (aggregate.hasStaleExtremes()) {
+            refreshExtremes(current, aggregate, copiedAt, gradeDAO.getStatisticsForDepartment(department));
+        }
+        return aggregate.toStatistics(department);
+    }
+    
+    /**
+     * Statistics of every course that has grades, keyed by course ID in ascending order
+     */
+    public Map<Integer, GradeStatistics> getAllByCourse() throws DatabaseException {
+        Snapshot snapshot = ensureLoaded();
+        List<Integer> courseIds;
+        synchronized (this) {
+            courseIds = List.copyOf(new TreeMap<>(snapshot.byCourse).keySet());
+        }
+        Map<Integer, GradeStatistics> statistics = new LinkedHashMap<>();
+        for (Integer courseId : courseIds) {
+            statistics.put(courseId, getForCourse(snapshot, courseId));
+        }
+        return statistics;
+    }
+    
+    /**
+     * Statistics of every department that has grades, in alphabetical order
+     */
+    public Map<String, GradeStatistics> getAllByDepartment() throws DatabaseException {
+        Snapshot snapshot = ensureLoaded();
+        List<String> departments;
+        synchronized (this) {
+            departments = List.copyOf(new TreeMap<>(snapshot.byDepartment).keySet());
+        }
+        Map<String, GradeStatistics> statistics = new LinkedHashMap<>();
+        for (String department : departments) {
+            statistics.put(department, getForDepartment(snapshot, department));
+        }
+        return statistics;
+    }
+    
+    /**
+     * The materialized statistics, rebuilding them first if they were invalidated
+     *
+     * When grade writes keep overlapping the rebuild, the freshly computed
+     * figures answer this read without being installed.
+     */
+    private Snapshot ensureLoaded() throws DatabaseException {
+        Snapshot rebuilt = null;
+        for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+            long startModCount;
+            synchronized (this) {
+                if (state != null) {
+                    return state;
+                }
+                startModCount = modCount;
+            }
+            
+            rebuilt = rebuild();
+            synchronized (this) {
+                if (state != null) {
+                    return state;
+                }
+                if (modCount == startModCount && writesInFlight.get() == 0) {
+                    state = rebuilt;
+                    long total = rebuilt.overall.count;
+                    LOG.info(() -> "Grade statistics materialized for " + total + " grades");
+                    return state;
+                }
+            }
+            LOG.debug("Grade statistics rebuild overlapped a write, retrying");
+        }
+        LOG.warning("Grade statistics rebuilt without materializing; grades are changing too quickly");
+        return rebuilt;
+    }
+    
+    private Snapshot rebuild() throws DatabaseException {
+        Snapshot snapshot = new Snapshot();
+        try (Stream<ScopedMark> marks = gradeDAO.streamScopedMarks()) {
+            Iterator<ScopedMark> rows = marks.iterator();
+            while (rows.hasNext()) {
+                ScopedMark mark = rows.next();
+                snapshot.add(mark.getCourseId(), mark.getDepartment(), mark.getMarks(), mark.getGrade());
+            }
+        } catch (DataAccessException e) {
+            throw new DatabaseException("Failed to rebuild grade statistics: " + e.getMessage(), e);
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Use the database's min/max for a scope whose extreme was deleted
+     * The live scope keeps them only if no grade write happened since the
+     * aggregate was copied, which was before the database was queried.
+     * @param copiedAt modCount read together with the copy of the aggregate
+     */
+    private void refreshExtremes(Aggregate live, Aggregate aggregate, long copiedAt, GradeStatistics fromDatabase) {
+        aggregate.setExtremes(fromDatabase.getMinimum(), fromDatabase.getMaximum());
+        
+        synchronized (this) {
+            if (live != null && live.count == aggregate.count && modCount == copiedAt
+                    && writesInFlight.get() == 0) {
+                live.setExtremes(fromDatabase.getMinimum(), fromDatabase.getMaximum());
+            }
+        }
+    }
+    
+    private static <K> void removeFrom(Map<K, Aggregate> scopes, K key, double marks, String letter) {
+        Aggregate aggregate = scopes.get(key);
+        if (aggregate != null) {
+            aggregate.remove(marks, letter);
+            if (aggregate.count <= 0) {
+                scopes.remove(key);
+            }
+        }
+    }
+    
+    /**
+     * Aggregates for every scope
+     */
+    private static class Snapshot {
+        private final Aggregate overall = new Aggregate();
+        private final Map<Integer, Aggregate> byCourse = new HashMap<>();
+        private final Map<String, Aggregate> byDepartment = new HashMap<>();
+        
+        private void add(int courseId, String department, double marks, String letter) {
+            overall.add(marks, letter);
+            byCourse.computeIfAbsent(courseId, id -> new Aggregate()).add(marks, letter);
+            if (department != null) {
+                byDepartment.computeIfAbsent(department, name -> new Aggregate()).add(marks, letter);
+            }
+        }
+    }
+    
+    /**
+     * Running totals for one scope
+     */
+    private static class Aggregate {
+        private long count;
+        private double sum;
+        private double sumOfSquares;
+        private double minimum = Double.POSITIVE_INFINITY;
+        private double maximum = Double.NEGATIVE_INFINITY;
+        private boolean minimumStale;
+        private boolean maximumStale;
+        private final long[] letterCounts = new long[LETTERS.size()];
+        
+        private void add(double marks, String letter) {
+            count++;
+            sum += marks;
+            sumOfSquares += marks * marks;
+            if (!minimumStale) {
+                minimum = Math.min(minimum, marks);
+            }
+            if (!maximumStale) {
+                maximum = Math.max(maximum, marks);
+            }
+            int index = LETTERS.indexOf(letter);
+            if (index >= 0) {
+                letterCounts[index]++;
+            }
+        }
+        
+        private void remove(double marks, String letter) {
+            count--;
+            sum -= marks;
+            sumOfSquares -= marks * marks;
+            if (count <= 0) {
+                count = 0;
+                sum = 0;
+                sumOfSquares = 0;
+                minimum = Double.POSITIVE_INFINITY;
+                maximum = Double.NEGATIVE_INFINITY;
+                minimumStale = false;
+                maximumStale = false;
+            } else {
+                minimumStale |= marks <= minimum;
+                maximumStale |= marks >= maximum;
+            }
+            int index = LETTERS.indexOf(letter);
+            if (index >= 0 && letterCounts[index] > 0) {
+                letterCounts[index]--;
+            }
+        }
+        
+        private boolean hasStaleExtremes() {
+            return count > 0 && (minimumStale || maximumStale);
+        }
+        
+        private void setExtremes(double minimum, double maximum) {
+            this.minimum = minimum;
+            this.maximum = maximum;
+            this.minimumStale = false;
+            this.maximumStale = false;
+        }
+        
+        private Aggregate copy() {
+            Aggregate copy = new Aggregate();
+            copy.count = count;
+            copy.sum = sum;
+            copy.sumOfSquares = sumOfSquares;
+            copy.minimum = minimum;
+            copy.maximum = maximum;
+            copy.minimumStale = minimumStale;
+            copy.maximumStale = maximumStale;
+            System.arraycopy(letterCounts, 0, copy.letterCounts, 0, letterCounts.length);
+            return copy;
+        }
+        
+        private GradeStatistics toStatistics(String scope) {
+            Map<String, Long> letters = new LinkedHashMap<>();
+            for (int i = 0; i < LETTERS.size(); i++) {
+                letters.put(LETTERS.get(i), letterCounts[i]);
+            }
+            if (count == 0) {
+                return new GradeStatistics(scope, 0, 0.0, 0.0, 0.0, 0.0, letters);
+            }
+            double average = sum / count;
+            // Clamp tiny negative values left by floating-point cancellation
+            double variance = Math.max(0.0, sumOfSquares / count - average * average);
+            return new GradeStatistics(scope, count, average, minimum, maximum, Math.sqrt(variance), letters);
+        }
+    }
+}
@@ -1,41 +1,79 @@
 package com.vitproject.service;
 
+import com.vitproject.dao.StudentCache;
 import com.vitproject.dao.StudentDAO;
 import com.vitproject.dao.CourseDAO;
 import com.vitproject.dao.GradeDAO;
-import com.vitproject.model.Student;
+import com.vitproject.model.BulkReportSummary;
 import com.vitproject.model.Course;
+import com.vitproject.model.CourseRosterEntry;
 import com.vitproject.model.Grade;
+import com.vitproject.model.Page;
+import com.vitproject.model.Student;
+import com.vitproject.model.GradeDetail;
+import com.vitproject.model.GradeStatistics;
 import com.vitproject.exception.CustomException;
+import com.vitproject.util.ClassLogger;
 import com.vitproject.util.FileManager;
 import com.vitproject.util.Logger;
+import com.vitproject.util.MarksSketch;
+import com.vitproject.util.ReportWriter;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Report service demonstrating Stream API, lambdas, and file operations
  */
 public class ReportService {
+    private static final ClassLogger LOG = Logger.forClass(ReportService.class);
     private StudentDAO studentDAO;
+    private StudentCache studentCache;
     private CourseDAO courseDAO;
     private GradeDAO gradeDAO;
+    private GradeStatisticsStore statisticsStore;
     private static final Path REPORT_DIR = Paths.get("reports");
+    private static final int BULK_PAGE_SIZE = 500;
+    private static final double HISTOGRAM_BUCKET_WIDTH = 10.0;
+    private static final int HISTOGRAM_BAR_WIDTH = 40;
+    
+    /**
+     * Progress callback for bulk runs; called from worker threads after each transcript
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int completed, int failed, int total);
+    }
     
     public ReportService() {
         this.studentDAO = new StudentDAO();
+        this.studentCache = new StudentCache(studentDAO);
         this.courseDAO = new CourseDAO();
         this.gradeDAO = new GradeDAO();
+        this.statisticsStore = GradeStatisticsStore.getInstance();
         
         try {
             FileManager.createDirectoryIfNotExists(REPORT_DIR);
         } catch (Exception e) {
-            Logger.error("Failed to create report directory: " + e.getMessage());
+            LOG.error("Failed to create report directory: " + e.getMessage());
         }
     }
     
@@ -44,125 +82,492 @@ public class ReportService {
      */
     public void generateStudentReport(int studentId) throws CustomException {
         try {
-            Student student = studentDAO.read(studentId);
-            List<Grade> grades = gradeDAO.getGradesByStudent(studentId);
-            
-            List<String> reportLines = new ArrayList<>();
-            reportLines.add("=".repeat(50));
-            reportLines.add("STUDENT REPORT");
-            reportLines.add("=".repeat(50));
-            reportLines.add("Generated: " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-            reportLines.add("");
-            reportLines.add("Student ID: " + student.getStudentId());
-            reportLines.add("Name: " + student.getName());
-            reportLines.add("Email: " + student.getEmail());
-            reportLines.add("Department: " + student.getDepartment());
-            reportLines.add("Age: " + student.calculateAge());
-            reportLines.add("");
-            reportLines.add("Grades:");
-            reportLines.add("-".repeat(50));
-            
-            // Using Stream API and lambdas to process grades
-            List<String> gradeLines = grades.stream()
-                    .map(grade -> {
-                        try {
-                            Course course = courseDAO.read(grade.getCourseId());
-                            return String.format("  %s (%s): %.2f - %s", 
-                                    course.getCourseName(), 
-                                    course.getCourseCode(), 
-                                    grade.getMarks(), 
-                                    grade.getGrade());
-                        } catch (Exception e) {
-                            return "  Course ID " + grade.getCourseId() + ": " + grade.getMarks() + " - " + grade.getGrade();
-                        }
-                    })
-                    .collect(Collectors.toList());
-            
-            reportLines.addAll(gradeLines);
-            
-            // Calculate average using Stream API
-            double average = grades.stream()
-                    .mapToDouble(Grade::getMarks)
-                    .average()
-                    .orElse(0.0);
-            
-            reportLines.add("");
-            reportLines.add("Average Marks: " + String.format("%.2f", average));
-            reportLines.add("=".repeat(50));
+            Student student = studentCache.read(studentId);
+            List<GradeDetail> grades = gradeDAO.getGradeDetailsByStudent(studentId);
             
             // Write to file
             Path reportFile = REPORT_DIR.resolve("student_" + studentId + "_" + 
                     LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".txt");
-            FileManager.writeLines(reportFile, reportLines);
+            try (ReportWriter out = ReportWriter.open(reportFile)) {
+                writeStudentReport(out, student, grades);
+            }
             
-            Logger.info("Student report generated: " + reportFile);
+            LOG.info(() -> "Student report generated: " + reportFile);
             
         } catch (Exception e) {
-            Logger.error("Error generating student report: " + e.getMessage());
+            LOG.error("Error generating student report: " + e.getMessage());
             throw new CustomException("Failed to generate report: " + e.getMessage(), e);
         }
     }
     
     /**
-     * Generate summary report using Collections and Stream API
+     * Generate transcripts for every student, or for one department, in parallel
+     * Uses report.bulk.parallelism worker threads (default: number of CPUs).
+     * @param department department to include, or null/empty for all students
+     * @param listener progress callback, may be null
      */
-    public void generateSummaryReport() throws CustomException {
+    public BulkReportSummary generateTranscripts(String department, ProgressListener listener)
+            throws CustomException {
+        int parallelism = Integer.getInteger("report.bulk.parallelism", Runtime.getRuntime().availableProcessors());
+        return generateTranscripts(department, parallelism, listener);
+    }
+    
+    /**
+     * Generate transcripts across a bounded pool of worker threads
+     * Students and their grades are read a page at a time on the calling
+     * thread (one grade query per page) and the course table is loaded once
+     * and shared, so workers only render and write files. A failed transcript
+     * is recorded in the summary and does not stop the run.
+     */
+    public BulkReportSummary generateTranscripts(String department, int parallelism, ProgressListener listener)
+            throws CustomException {
+        if (parallelism < 1) {
+            throw new CustomException("Parallelism must be at least 1", "VALIDATION_ERROR");
+        }
+        String filter = department == null || department.trim().isEmpty() ? null : department.trim();
+        ProgressListener progress = listener != null ? listener : (completed, failed, total) -> {};
+        long start = System.nanoTime();
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                runnable -> new Thread(runnable, "transcript-worker-" + threadNumber.incrementAndGet()));
+        // Bounds how many transcripts are queued ahead of the workers
+        Semaphore inFlight = new Semaphore(parallelism * 4);
+        AtomicInteger succeeded = new AtomicInteger();
+        Map<Integer, String> failures = new ConcurrentHashMap<>();
+        
         try {
-            List<Student> students = studentDAO.readAll();
-            List<Course> courses = courseDAO.readAll();
-            List<Grade> allGrades = new ArrayList<>();
-            
-            // Collect all grades
-            for (Student student : students) {
-                allGrades.addAll(gradeDAO.getGradesByStudent(student.getStudentId()));
+            int expected = filter == null ? studentDAO.count() : studentDAO.count(filter);
+            Map<Integer, Course> courses = new HashMap<>();
+            for (Course course : courseDAO.readAll()) {
+                courses.put(course.getCourseId(), course);
             }
             
-            List<String> reportLines = new ArrayList<>();
-            reportLines.add("=".repeat(50));
-            reportLines.add("SUMMARY REPORT");
-            reportLines.add("=".repeat(50));
-            reportLines.add("Generated: " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-            reportLines.add("");
-            reportLines.add("Total Students: " + students.size());
-            reportLines.add("Total Courses: " + courses.size());
-            reportLines.add("Total Grades Recorded: " + allGrades.size());
-            reportLines.add("");
-            
-            // Using Stream API to calculate statistics
-            if (!allGrades.isEmpty()) {
-                double avgMarks = allGrades.stream()
-                        .mapToDouble(Grade::getMarks)
-                        .average()
-                        .orElse(0.0);
+            Path outputDir = REPORT_DIR.resolve("transcripts_" +
+                    (filter == null ? "all" : filter.replaceAll("[^A-Za-z0-9_-]", "_")) + "_" +
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")));
+            FileManager.createDirectoryIfNotExists(outputDir);
+            LOG.info(() -> "Generating " + expected + " transcripts into " + outputDir +
+                    " with " + parallelism + " workers");
+            
+            int cursor = 0;
+            int submitted = 0;
+            while (true) {
+                Page<Student> page = filter == null
+                        ? studentDAO.readPage(cursor, BULK_PAGE_SIZE)
+                        : studentDAO.readPageByDepartment(filter, cursor, BULK_PAGE_SIZE);
+                if (page.isEmpty()) {
+                    break;
+                }
                 
-                double maxMarks = allGrades.stream()
-                        .mapToDouble(Grade::getMarks)
-                        .max()
-                        .orElse(0.0);
+                List<Student> students = page.getItems();
+                int lastId = students.get(students.size() - 1).getStudentId();
+                Map<Integer, List<Grade>> gradesByStudent = gradeDAO.getGradesForStudentRange(filter, cursor, lastId)
+                        .stream()
+                        .collect(Collectors.groupingBy(Grade::getStudentId));
                 
-                double minMarks = allGrades.stream()
-                        .mapToDouble(Grade::getMarks)
-                        .min()
-                        .orElse(0.0);
+                for (Student student : students) {
+                    List<Grade> grades = gradesByStudent.getOrDefault(student.getStudentId(), List.of());
+                    int total = Math.max(expected, ++submitted);
+                    inFlight.acquire();
+                    try {
+                        workers.execute(() -> {
+                            try {
+                                writeTranscript(outputDir, student, toDetails(grades, courses));
+                                succeeded.incrementAndGet();
+                            } catch (IOException | RuntimeException e) {
+                                failures.put(student.getStudentId(), String.valueOf(e.getMessage()));
+                                LOG.error("Transcript failed for student " + student.getStudentId() + ": " +
+                                        e.getMessage());
+                            } finally {
+                                inFlight.release();
+                                progress.onProgress(succeeded.get(), failures.size(), total);
+                            }
+                        });
+                    } catch (RejectedExecutionException e) {
+                        inFlight.release();
+                        throw e;
+                    }
+                }
                 
-                reportLines.add("Statistics:");
-                reportLines.add("  Average Marks: " + String.format("%.2f", avgMarks));
-                reportLines.add("  Maximum Marks: " + String.format("%.2f", maxMarks));
-                reportLines.add("  Minimum Marks: " + String.format("%.2f", minMarks));
+                if (!page.hasNext()) {
+                    break;
+                }
+                cursor = page.getNextCursor();
             }
             
-            reportLines.add("=".repeat(50));
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            BulkReportSummary summary = new BulkReportSummary(submitted, succeeded.get(), new HashMap<>(failures),
+                    elapsedMillis, outputDir);
+            LOG.info(() -> "Transcript run finished: " + summary);
+            return summary;
+            
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Transcript run interrupted");
+            throw new CustomException("Transcript generation was interrupted", e);
+        } catch (Exception e) {
+            LOG.error("Error generating transcripts: " + e.getMessage());
+            throw new CustomException("Failed to generate transcripts: " + e.getMessage(), e);
+        } finally {
+            if (!workers.isTerminated()) {
+                workers.shutdownNow();
+            }
+        }
+    }
+    
+    /**
+     * Generate transcripts one department at a time, as the scheduled transcript job does
+     * A department that fails does not stop the others; the failures are reported
+     * together once every department has been tried.
+     * @return the summary of each department's run, in department order
+     */
+    public Map<String, BulkReportSummary> generateTranscriptsByDepartment() throws CustomException {
+        List<String> departments;
+        try {
+            departments = studentDAO.readDepartments();
+        } catch (Exception e) {
+            LOG.error("Error reading departments: " + e.getMessage());
+            throw new CustomException("Failed to generate department transcripts: " + e.getMessage(), e);
+        }
+        
+        Map<String, BulkReportSummary> summaries = new LinkedHashMap<>();
+        List<String> failedDepartments = new ArrayList<>();
+        for (String department : departments) {
+            try {
+                summaries.put(department, generateTranscripts(department, null));
+            } catch (CustomException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                failedDepartments.add(department);
+            }
+        }
+        
+        if (!failedDepartments.isEmpty()) {
+            throw new CustomException("Failed to generate transcripts for departments: " +
+                    String.join(", ", failedDepartments));
+        }
+        return summaries;
+    }
+    
+    /**
+     * Generate summary report using Collections and Stream API
+     */
+    public void generateSummaryReport() throws CustomException {
+        try {
+            // Grade statistics come from the materialized store; only the counts hit the database
+            int studentCount = studentDAO.count();
+            int courseCount = courseDAO.count();
+            GradeStatistics overall = statisticsStore.getOverall();
+            Map<Integer, GradeStatistics> byCourse = statisticsStore.getAllByCourse();
+            Map<String, GradeStatistics> byDepartment = statisticsStore.getAllByDepartment();
+            Map<Integer, String> courseCodes = courseCodes();
             
             Path reportFile = REPORT_DIR.resolve("summary_" + 
                     LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".txt");
-            FileManager.writeLines(reportFile, reportLines);
+            try (ReportWriter out = ReportWriter.open(reportFile)) {
+                out.line("=".repeat(50));
+                out.line("SUMMARY REPORT");
+                out.line("=".repeat(50));
+                out.line("Generated: " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                out.line();
+                out.line("Total Students: " + studentCount);
+                out.line("Total Courses: " + courseCount);
+                out.line("Total Grades Recorded: " + overall.getCount());
+                out.line();
+                
+                if (overall.getCount() > 0) {
+                    out.line("Statistics:");
+                    out.line("  Average Marks: " + String.format("%.2f", overall.getAverage()));
+                    out.line("  Maximum Marks: " + String.format("%.2f", overall.getMaximum()));
+                    out.line("  Minimum Marks: " + String.format("%.2f", overall.getMinimum()));
+                    out.line("  Std Deviation: " + String.format("%.2f", overall.getStandardDeviation()));
+                    out.line("  Grade Distribution: " + formatLetterCounts(overall));
+                    out.line();
+                    
+                    out.line("By Course:");
+                    for (Map.Entry<Integer, GradeStatistics> entry : byCourse.entrySet()) {
+                        String label = courseCodes.getOrDefault(entry.getKey(), entry.getValue().getScope());
+                        out.line(formatStatistics(label, entry.getValue()));
+                    }
+                    out.line();
+                    
+                    out.line("By Department:");
+                    for (GradeStatistics stats : byDepartment.values()) {
+                        out.line(formatStatistics(stats.getScope(), stats));
+                    }
+                }
+                
+                out.line("=".repeat(50));
+            }
             
-            Logger.info("Summary report generated: " + reportFile);
+            LOG.info(() -> "Summary report generated: " + reportFile);
             
         } catch (Exception e) {
-            Logger.error("Error generating summary report: " + e.getMessage());
+            LOG.error("Error generating summary report: " + e.getMessage());
             throw new CustomException("Failed to generate summary report: " + e.getMessage(), e);
         }
     }
+    
+    /**
+     * Generate a marks distribution report: median, p90, p99, standard deviation and
+     * histograms for all grades and per course and department
+     * The grades are read in one streaming pass (see DistributionAnalytics).
+     * @return the report file
+     */
+    public Path generateDistributionReport() throws CustomException {
+        try {
+            DistributionAnalytics.Result distribution = new DistributionAnalytics().analyze();
+            Map<Integer, String> courseCodes = courseCodes();
+            
+            Path reportFile = REPORT_DIR.resolve("distribution_" +
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".txt");
+            try (ReportWriter out = ReportWriter.open(reportFile)) {
+                out.line("=".repeat(50));
+                out.line("MARKS DISTRIBUTION REPORT");
+                out.line("=".repeat(50));
+                out.line("Generated: " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                out.line();
+                
+                MarksSketch overall = distribution.getOverall();
+                out.line("Total Grades Analyzed: " + overall.getCount());
+                out.line();
+                
+                if (!overall.isEmpty()) {
+                    out.line("Overall:");
+                    out.line(formatDistribution("All grades", overall));
+                    writeHistogramChart(out, overall);
+                    out.line();
+                    
+                    out.line("By Course:");
+                    for (Map.Entry<Integer, MarksSketch> entry : distribution.getByCourse().entrySet()) {
+                        String label = courseCodes.getOrDefault(entry.getKey(), "Course ID " + entry.getKey());
+                        out.line(formatDistribution(label, entry.getValue()));
+                        out.line(formatHistogram(entry.getValue()));
+                    }
+                    out.line();
+                    
+                    out.line("By Department:");
+                    for (Map.Entry<String, MarksSketch> entry : distribution.getByDepartment().entrySet()) {
+                        out.line(formatDistribution(entry.getKey(), entry.getValue()));
+                        out.line(formatHistogram(entry.getValue()));
+                    }
+                }
+                
+                out.line("=".repeat(50));
+            }
+            
+            LOG.info(() -> "Distribution report generated: " + reportFile);
+            return reportFile;
+            
+        } catch (Exception e) {
+            LOG.error("Error generating distribution report: " + e.getMessage());
+            throw new CustomException("Failed to generate distribution report: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Generate a course grade sheet by streaming the roster straight into the report file
+     * Rows are written as they are read and the statistics are accumulated on
+     * the way, so memory use is the same for ten students or a hundred thousand.
+     * @param compress gzip the report while writing it (.txt.gz)
+     * @return the report file
+     */
+    public Path generateCourseReport(int courseId, boolean compress) throws CustomException {
+        try {
+            Course course = courseDAO.read(courseId);
+            if (course == null) {
+                throw new CustomException("Course with ID " + courseId + " not found", "COURSE_NOT_FOUND");
+            }
+            
+            Path reportFile = REPORT_DIR.resolve("course_" + course.getCourseCode().replaceAll("[^A-Za-z0-9_-]", "_") +
+                    "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) +
+                    (compress ? ".txt.gz" : ".txt"));
+            
+            long count = 0;
+            double sum = 0;
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            
+            try (ReportWriter out = ReportWriter.open(reportFile, compress);
+                 Stream<CourseRosterEntry> roster = gradeDAO.streamCourseRoster(courseId)) {
+                out.line("=".repeat(70));
+                out.line("COURSE REPORT");
+                out.line("=".repeat(70));
+                out.line("Generated: " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                out.line();
+                out.line("Course: " + course.getCourseName() + " (" + course.getCourseCode() + ")");
+                out.line("Credits: " + course.getCredits());
+                out.line("Instructor: " + course.getInstructor());
+                out.line();
+                out.format("%-10s %-25s %-20s %8s  %s", "ID", "Name", "Department", "Marks", "Grade");
+                out.line("-".repeat(70));
+                
+                Iterator<CourseRosterEntry> rows = roster.iterator();
+                while (rows.hasNext()) {
+                    CourseRosterEntry entry = rows.next();
+                    out.format("%-10d %-25s %-20s %8.2f  %s",
+                            entry.getStudentId(),
+                            entry.getStudentName() != null ? entry.getStudentName() : "(deleted student)",
+                            entry.getDepartment() != null ? entry.getDepartment() : "",
+                            entry.getMarks(),
+                            entry.getGrade());
+                    
+                    count++;
+                    sum += entry.getMarks();
+                    min = Math.min(min, entry.getMarks());
+                    max = Math.max(max, entry.getMarks());
+                }
+                
+                out.line("-".repeat(70));
+                out.line("Students Graded: " + count);
+                if (count > 0) {
+                    out.line("Average Marks: " + String.format("%.2f", sum / count));
+                    out.line("Maximum Marks: " + String.format("%.2f", max));
+                    out.line("Minimum Marks: " + String.format("%.2f", min));
+                }
+                out.line("=".repeat(70));
+            }
+            
+            LOG.info(() -> "Course report generated: " + reportFile);
+            return reportFile;
+            
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error generating course report: " + e.getMessage());
+            throw new CustomException("Failed to generate course report: " + e.getMessage(), e);
+        }
+    }
+    
+    private static void writeTranscript(Path outputDir, Student student, List<GradeDetail> grades)
+            throws IOException {
+        Path reportFile = outputDir.resolve("student_" + student.getStudentId() + ".txt");
+        try (ReportWriter out = ReportWriter.open(reportFile)) {
+            writeStudentReport(out, student, grades);
+        }
+    }
+    
+    /**
+     * Join grades with the prefetched courses, as getGradeDetailsByStudent does in SQL
+     */
+    private static List<GradeDetail> toDetails(List<Grade> grades, Map<Integer, Course> courses) {
+        List<GradeDetail> details = new ArrayList<>(grades.size());
+        for (Grade grade : grades) {
+            Course course = courses.get(grade.getCourseId());
+            details.add(new GradeDetail(grade.getGradeId(), grade.getStudentId(), grade.getCourseId(),
+                    grade.getMarks(), grade.getGrade(),
+                    course != null ? course.getCourseCode() : null,
+                    course != null ? course.getCourseName() : null,
+                    course != null ? course.getCredits() : 0));
+        }
+        return details;
+    }
+    
+    private static void writeStudentReport(ReportWriter out, Student student, List<GradeDetail> grades)
+            throws IOException {
+        out.line("=".repeat(50));
+        out.line("STUDENT REPORT");
+        out.line("=".repeat(50));
+        out.line("Generated: " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        out.line();
+        out.line("Student ID: " + student.getStudentId());
+        out.line("Name: " + student.getName());
+        out.line("Email: " + student.getEmail());
+        out.line("Department: " + student.getDepartment());
+        out.line("Age: " + student.calculateAge());
+        out.line();
+        out.line("Grades:");
+        out.line("-".repeat(50));
+        
+        // Course data comes from the join (or the prefetched course map in bulk runs)
+        for (GradeDetail grade : grades) {
+            out.line(grade.hasCourse()
+                    ? String.format("  %s (%s): %.2f - %s", 
+                            grade.getCourseName(), 
+                            grade.getCourseCode(), 
+                            grade.getMarks(), 
+                            grade.getGrade())
+                    : "  Course ID " + grade.getCourseId() + ": " + grade.getMarks() + " - " + grade.getGrade());
+        }
+        
+        // Calculate average using Stream API
+        double average = grades.stream()
+                .mapToDouble(GradeDetail::getMarks)
+                .average()
+                .orElse(0.0);
+        
+        // Credit-weighted CGPA; grades whose course is missing carry no credits
+        int credits = grades.stream().mapToInt(GradeDetail::getCredits).sum();
+        long creditPoints = grades.stream()
+                .mapToLong(grade -> (long) Grade.gradePoints(grade.getGrade()) * grade.getCredits())
+                .sum();
+        
+        out.line();
+        out.line("Average Marks: " + String.format("%.2f", average));
+        out.line("Credits: " + credits);
+        out.line("CGPA: " + String.format("%.2f", credits == 0 ? 0.0 : (double) creditPoints / credits));
+        out.line("=".repeat(50));
+    }
+    
+    /**
+     * Course code by course ID, from the cached course list
+     */
+    private Map<Integer, String> courseCodes() throws CustomException {
+        Map<Integer, String> codes = new HashMap<>();
+        for (Course course : courseDAO.readAll()) {
+            codes.put(course.getCourseId(), course.getCourseCode());
+        }
+        return codes;
+    }
+    
+    private static String formatDistribution(String label, MarksSketch sketch) {
+        return String.format("  %-25s count=%-6d mean=%6.2f  sd=%6.2f  min=%6.2f  median=%6.2f  " +
+                "p90=%6.2f  p99=%6.2f  max=%6.2f",
+                label, sketch.getCount(), sketch.getMean(), sketch.getStandardDeviation(), sketch.getMinimum(),
+                sketch.getMedian(), sketch.quantile(0.9), sketch.quantile(0.99), sketch.getMaximum());
+    }
+    
+    private static String formatHistogram(MarksSketch sketch) {
+        long[] buckets = sketch.histogram(HISTOGRAM_BUCKET_WIDTH);
+        StringBuilder line = new StringBuilder("    ");
+        for (int i = 0; i < buckets.length; i++) {
+            line.append(String.format("%s:%d ", bucketLabel(i), buckets[i]));
+        }
+        return line.toString().stripTrailing();
+    }
+    
+    private static void writeHistogramChart(ReportWriter out, MarksSketch sketch) throws IOException {
+        long[] buckets = sketch.histogram(HISTOGRAM_BUCKET_WIDTH);
+        long largest = 0;
+        for (long bucket : buckets) {
+            largest = Math.max(largest, bucket);
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            int bar = largest == 0 ? 0 : (int) Math.round((double) buckets[i] * HISTOGRAM_BAR_WIDTH / largest);
+            out.format("    %-7s %8d  %s", bucketLabel(i), buckets[i], "#".repeat(bar));
+        }
+    }
+    
+    private static String bucketLabel(int bucket) {
+        return String.format("%.0f-%.0f", bucket * HISTOGRAM_BUCKET_WIDTH,
+                Math.min(MarksSketch.MAX_MARKS, (bucket + 1) * HISTOGRAM_BUCKET_WIDTH));
+    }
+    
+    private static String formatStatistics(String label, GradeStatistics stats) {
+        return String.format("  %-25s count=%-6d avg=%6.2f  min=%6.2f  max=%6.2f  sd=%6.2f  %s",
+                label, stats.getCount(), stats.getAverage(), stats.getMinimum(), stats.getMaximum(),
+                stats.getStandardDeviation(), formatLetterCounts(stats));
+    }
+    
+    private static String formatLetterCounts(GradeStatistics stats) {
+        return stats.getLetterCounts().entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue())
+                .collect(Collectors.joining(" "));
+    }
 }
 
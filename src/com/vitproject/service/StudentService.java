@@ -1,24 +1,32 @@
 package com.vitproject.service;
 
+import com.vitproject.dao.StudentCache;
 import com.vitproject.dao.StudentDAO;
+import com.vitproject.model.Page;
 import com.vitproject.model.Student;
 import com.vitproject.exception.CustomException;
 import com.vitproject.exception.DatabaseException;
 import com.vitproject.exception.StudentNotFoundException;
+import com.vitproject.util.ClassLogger;
 import com.vitproject.util.Logger;
+import com.vitproject.util.TransactionTemplate;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Objects;
 
 /**
  * Service layer for Student operations
  * Demonstrates business logic and exception handling
  */
 public class StudentService {
+    private static final ClassLogger LOG = Logger.forClass(StudentService.class);
     private StudentDAO studentDAO;
+    private StudentCache studentCache;
     
     public StudentService() {
         this.studentDAO = new StudentDAO();
+        this.studentCache = new StudentCache(studentDAO);
     }
     
     /**
@@ -46,30 +54,72 @@ public class StudentService {
             student.setDepartment(department.trim());
             
             int id = studentDAO.create(student);
-            Logger.info("Student service: Added student with ID " + id);
+            LOG.info(() -> "Student service: Added student with ID " + id);
             
             return student;
             
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to add student: " + e.getMessage(), e);
         } catch (Exception e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Invalid input: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Add a whole intake of students using batched inserts
+     * Every student is validated before anything is written.
+     */
+    public List<Student> addStudents(List<Student> students) throws CustomException {
+        for (Student student : students) {
+            if (student.getName() == null || student.getName().trim().isEmpty()) {
+                throw new CustomException("Student name cannot be empty", "VALIDATION_ERROR");
+            }
+            if (student.getEmail() == null || !student.getEmail().contains("@")) {
+                throw new CustomException("Invalid email format: " + student.getEmail(), "VALIDATION_ERROR");
+            }
+        }
+        
+        try {
+            int count = studentDAO.createAll(students);
+            LOG.info(() -> "Student service: Added " + count + " students");
+            return students;
+        } catch (DatabaseException e) {
+            LOG.error("Service error: " + e.getMessage());
+            throw new CustomException("Failed to add students: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * Get student by ID
      */
     public Student getStudent(int studentId) throws CustomException {
         try {
-            return studentDAO.read(studentId);
+            return studentCache.read(studentId);
+        } catch (StudentNotFoundException e) {
+            LOG.warning("Student not found: " + studentId);
+            throw e;
+        } catch (DatabaseException e) {
+            LOG.error("Service error: " + e.getMessage());
+            throw new CustomException("Failed to get student: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Get student by email
+     */
+    public Student getStudentByEmail(String email) throws CustomException {
+        if (email == null || email.trim().isEmpty()) {
+            throw new CustomException("Email cannot be empty", "VALIDATION_ERROR");
+        }
+        try {
+            return studentCache.readByEmail(email.trim());
         } catch (StudentNotFoundException e) {
-            Logger.warning("Student not found: " + studentId);
+            LOG.warning("Student not found: " + email);
             throw e;
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to get student: " + e.getMessage(), e);
         }
     }
@@ -81,7 +131,20 @@ public class StudentService {
         try {
             return studentDAO.readAll();
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
+            throw new CustomException("Failed to get students: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Get one page of students; pass null as the cursor for the first page
+     */
+    public Page<Student> getStudentsPage(Integer cursor, int pageSize) throws CustomException {
+        validatePageSize(pageSize);
+        try {
+            return studentDAO.readPage(cursor == null ? 0 : cursor, pageSize);
+        } catch (DatabaseException e) {
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to get students: " + e.getMessage(), e);
         }
     }
@@ -91,12 +154,18 @@ public class StudentService {
      */
     public boolean updateStudent(Student student) throws CustomException {
         try {
-            return studentDAO.update(student);
+            String oldDepartment = studentCache.read(student.getStudentId()).getDepartment();
+            boolean updated = studentDAO.update(student);
+            // Only a department change moves grades between statistics scopes
+            if (!Objects.equals(oldDepartment, student.getDepartment())) {
+                TransactionTemplate.afterCommit(GradeStatisticsStore.getInstance()::invalidate);
+            }
+            return updated;
         } catch (StudentNotFoundException e) {
-            Logger.warning("Student not found for update: " + student.getStudentId());
+            LOG.warning("Student not found for update: " + student.getStudentId());
             throw e;
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to update student: " + e.getMessage(), e);
         }
     }
@@ -106,12 +175,14 @@ public class StudentService {
      */
     public boolean deleteStudent(int studentId) throws CustomException {
         try {
-            return studentDAO.delete(studentId);
+            boolean deleted = studentDAO.delete(studentId);
+            TransactionTemplate.afterCommit(GradeStatisticsStore.getInstance()::invalidate);
+            return deleted;
         } catch (StudentNotFoundException e) {
-            Logger.warning("Student not found for deletion: " + studentId);
+            LOG.warning("Student not found for deletion: " + studentId);
             throw e;
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to delete student: " + e.getMessage(), e);
         }
     }
@@ -126,9 +197,31 @@ public class StudentService {
             }
             return studentDAO.searchByName(name.trim());
         } catch (DatabaseException e) {
-            Logger.error("Service error: " + e.getMessage());
+            LOG.error("Service error: " + e.getMessage());
+            throw new CustomException("Failed to search students: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Search students by name one page at a time
+     */
+    public Page<Student> searchStudentsPage(String name, Integer cursor, int pageSize) throws CustomException {
+        validatePageSize(pageSize);
+        try {
+            if (name == null || name.trim().isEmpty()) {
+                return new Page<>(new ArrayList<>(), null);
+            }
+            return studentDAO.searchByNamePage(name.trim(), cursor == null ? 0 : cursor, pageSize);
+        } catch (DatabaseException e) {
+            LOG.error("Service error: " + e.getMessage());
             throw new CustomException("Failed to search students: " + e.getMessage(), e);
         }
     }
+    
+    private void validatePageSize(int pageSize) throws CustomException {
+        if (pageSize < 1) {
+            throw new CustomException("Page size must be at least 1", "VALIDATION_ERROR");
+        }
+    }
 }
 
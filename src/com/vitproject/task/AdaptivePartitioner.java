@@ -0,0 +1,130 @@
+package com.vitproject.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Recursive, cost-aware splitting of a list for a ForkJoinPool
+ *
+ * A range is halved until its cost is at most the threshold (or it holds a
+ * single item); the leaves then run the batch function. Forked halves sit
+ * in the worker's deque where idle workers steal them, so a slow leaf no
+ * longer holds up a fixed share of the work.
+ *
+ * Without a cost function every item costs 1 and ranges are halved by
+ * count. With one, a prefix sum of the costs is built once and each range
+ * is split where its cost is halved (found by binary search), so e.g.
+ * students with many grades end up in smaller batches.
+ */
+public class AdaptivePartitioner<T> {
+    private final List<T> items;
+    private final long[] prefixCost;
+    private final long threshold;
+    
+    /**
+     * @param cost cost of one item, or null to count items
+     * @param threshold largest cost a leaf may have; 0 or less picks one from the parallelism
+     * @param parallelism worker count used for the automatic threshold
+     */
+    public AdaptivePartitioner(List<T> items, ToLongFunction<? super T> cost, long threshold, int parallelism) {
+        this.items = items;
+        this.prefixCost = cost != null ? prefixSums(items, cost) : null;
+        this.threshold = threshold > 0 ? threshold : defaultThreshold(costOf(0, items.size()), parallelism);
+    }
+    
+    /**
+     * About four leaves per worker: enough slack for stealing to even out skew, few enough to keep overhead low
+     */
+    public static long defaultThreshold(long totalCost, int parallelism) {
+        long leaves = Math.max(1, parallelism) * 4L;
+        return Math.max(1, (totalCost + leaves - 1) / leaves);
+    }
+    
+    public long getThreshold() {
+        return threshold;
+    }
+    
+    /**
+     * Task producing one result per leaf, in list order
+     */
+    public <R> RecursiveTask<List<R>> newTask(Function<List<T>, R> leafFunction) {
+        return new SplitTask<>(leafFunction, 0, items.size());
+    }
+    
+    long costOf(int from, int to) {
+        return prefixCost != null ? prefixCost[to] - prefixCost[from] : to - from;
+    }
+    
+    /**
+     * Index splitting [from, to) into two non-empty halves of roughly equal cost
+     */
+    int splitPoint(int from, int to) {
+        if (prefixCost == null) {
+            return from + (to - from) / 2;
+        }
+        
+        long target = prefixCost[from] + costOf(from, to) / 2;
+        int low = from + 1;
+        int high = to - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefixCost[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private static <T> long[] prefixSums(List<T> items, ToLongFunction<? super T> cost) {
+        long[] sums = new long[items.size() + 1];
+        int i = 0;
+        for (T item : items) {
+            long itemCost = cost.applyAsLong(item);
+            if (itemCost < 0) {
+                throw new IllegalArgumentException("Item cost must not be negative: " + itemCost);
+            }
+            sums[i + 1] = sums[i] + itemCost;
+            i++;
+        }
+        return sums;
+    }
+    
+    private class SplitTask<R> extends RecursiveTask<List<R>> {
+        private static final long serialVersionUID = 1L;
+        
+        private final Function<List<T>, R> leafFunction;
+        private final int from;
+        private final int to;
+        
+        private SplitTask(Function<List<T>, R> leafFunction, int from, int to) {
+            this.leafFunction = leafFunction;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected List<R> compute() {
+            if (to - from <= 1 || costOf(from, to) <= threshold) {
+                List<R> result = new ArrayList<>(1);
+                if (to > from) {
+                    result.add(leafFunction.apply(new ArrayList<>(items.subList(from, to))));
+                }
+                return result;
+            }
+            
+            int split = splitPoint(from, to);
+            SplitTask<R> left = new SplitTask<>(leafFunction, from, split);
+            SplitTask<R> right = new SplitTask<>(leafFunction, split, to);
+            left.fork(); // left half is up for stealing while this worker runs the right half
+            List<R> rightResults = right.compute();
+            List<R> results = new ArrayList<>(left.join());
+            results.addAll(rightResults);
+            return results;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.vitproject.task;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * Fires on a five-field cron expression: minute hour day-of-month month day-of-week
+ * Each field is "*", a value, a range "a-b", a step "*&#47;n" or "a-b/n", or a
+ * comma-separated list of these. Day of week runs 0-7 with both 0 and 7
+ * meaning Sunday. As in Unix cron, when both day fields are restricted a
+ * day matching either one fires. Times are evaluated in the given zone, so
+ * a time skipped by a daylight-saving change does not fire that day.
+ */
+public class CronTrigger implements Trigger {
+    // No match within this many years means the expression can never fire (e.g. 30 February)
+    private static final int SEARCH_YEARS = 5;
+    
+    private final String expression;
+    private final ZoneId zone;
+    private final BitSet minutes;
+    private final BitSet hours;
+    private final BitSet daysOfMonth;
+    private final BitSet months;
+    private final BitSet daysOfWeek;
+    private final boolean anyDayOfMonth;
+    private final boolean anyDayOfWeek;
+    
+    public CronTrigger(String expression, ZoneId zone) {
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Cron expression needs 5 fields " +
+                    "(minute hour day-of-month month day-of-week): " + expression);
+        }
+        this.expression = expression.trim();
+        this.zone = zone;
+        this.minutes = parseField(fields[0], 0, 59, "minute");
+        this.hours = parseField(fields[1], 0, 23, "hour");
+        this.daysOfMonth = parseField(fields[2], 1, 31, "day-of-month");
+        this.months = parseField(fields[3], 1, 12, "month");
+        this.daysOfWeek = parseField(fields[4], 0, 7, "day-of-week");
+        if (daysOfWeek.get(7)) {
+            daysOfWeek.set(0);
+        }
+        this.anyDayOfMonth = fields[2].startsWith("*");
+        this.anyDayOfWeek = fields[4].startsWith("*");
+        
+        if (nextFireTime(Instant.now()) == null) {
+            throw new IllegalArgumentException("Cron expression never fires: " + expression);
+        }
+    }
+    
+    /**
+     * Walks forward a field at a time, jumping to the start of the next month,
+     * day or hour whenever that field does not match
+     */
+    @Override
+    public Instant nextFireTime(Instant after) {
+        ZonedDateTime time = after.atZone(zone).truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        ZonedDateTime limit = time.plusYears(SEARCH_YEARS);
+        
+        while (time.isBefore(limit)) {
+            if (!months.get(time.getMonthValue())) {
+                time = time.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).plusMonths(1);
+            } else if (!dayMatches(time)) {
+                time = time.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            } else if (!hours.get(time.getHour())) {
+                time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            } else if (!minutes.get(time.getMinute())) {
+                time = time.plusMinutes(1);
+            } else {
+                return time.toInstant();
+            }
+        }
+        return null;
+    }
+    
+    private boolean dayMatches(ZonedDateTime time) {
+        boolean dayOfMonth = daysOfMonth.get(time.getDayOfMonth());
+        boolean dayOfWeek = daysOfWeek.get(time.getDayOfWeek().getValue() % 7);
+        if (anyDayOfMonth || anyDayOfWeek) {
+            return dayOfMonth && dayOfWeek;
+        }
+        return dayOfMonth || dayOfWeek;
+    }
+    
+    private static BitSet parseField(String field, int min, int max, String name) {
+        BitSet values = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            try {
+                String range = part;
+                int step = 1;
+                int slash = part.indexOf('/');
+                if (slash >= 0) {
+                    range = part.substring(0, slash);
+                    step = Integer.parseInt(part.substring(slash + 1));
+                }
+                
+                int low;
+                int high;
+                int dash = range.indexOf('-');
+                if (range.equals("*")) {
+                    low = min;
+                    high = max;
+                } else if (dash >= 0) {
+                    low = Integer.parseInt(range.substring(0, dash));
+                    high = Integer.parseInt(range.substring(dash + 1));
+                } else {
+                    low = Integer.parseInt(range);
+                    high = slash >= 0 ? max : low;
+                }
+                
+                if (step < 1 || low < min || high > max || low > high) {
+                    throw new IllegalArgumentException("Invalid " + name + " field: " + field);
+                }
+                for (int value = low; value <= high; value += step) {
+                    values.set(value);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + name + " field: " + field, e);
+            }
+        }
+        return values;
+    }
+    
+    @Override
+    public String toString() {
+        return "cron \"" + expression + "\" (" + zone + ")";
+    }
+}
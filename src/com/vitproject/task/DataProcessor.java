@@ -1,6 +1,7 @@
 package com.vitproject.task;
 
 import com.vitproject.model.Student;
+import com.vitproject.util.ClassLogger;
 import com.vitproject.util.Logger;
 
 import java.util.List;
@@ -12,6 +13,7 @@ import java.util.stream.Collectors;
  * This class implements Runnable for concurrent execution
  */
 public class DataProcessor implements Runnable {
+    private static final ClassLogger LOG = Logger.forClass(DataProcessor.class);
     private List<Student> students;
     private String taskName;
     
@@ -23,26 +25,34 @@ public class DataProcessor implements Runnable {
     @Override
     public void run() {
         try {
-            Logger.info("Task '" + taskName + "' started. Processing " + students.size() + " students.");
-            
-            // Simulate data processing using Stream API
-            List<String> studentNames = students.stream()
-                    .map(Student::getName)
-                    .filter(name -> name != null && !name.isEmpty())
-                    .sorted()
-                    .collect(Collectors.toList());
-            
-            // Simulate some processing time
-            Thread.sleep(1000);
-            
-            Logger.info("Task '" + taskName + "' completed. Processed " + studentNames.size() + " student names.");
-            
+            process();
         } catch (InterruptedException e) {
-            Logger.error("Task '" + taskName + "' interrupted: " + e.getMessage());
+            LOG.error("Task '" + taskName + "' interrupted: " + e.getMessage());
             Thread.currentThread().interrupt();
         } catch (Exception e) {
-            Logger.error("Error in task '" + taskName + "': " + e.getMessage());
+            LOG.error("Error in task '" + taskName + "': " + e.getMessage());
         }
     }
+    
+    /**
+     * Process the students and return how many names were processed
+     * Unlike run(), failures reach the caller.
+     */
+    public int process() throws InterruptedException {
+        LOG.info("Task '" + taskName + "' started. Processing " + students.size() + " students.");
+        
+        // Simulate data processing using Stream API
+        List<String> studentNames = students.stream()
+                .map(Student::getName)
+                .filter(name -> name != null && !name.isEmpty())
+                .sorted()
+                .collect(Collectors.toList());
+        
+        // Simulate some processing time
+        Thread.sleep(1000);
+        
+        LOG.info("Task '" + taskName + "' completed. Processed " + studentNames.size() + " student names.");
+        return studentNames.size();
+    }
 }
 
@@ -0,0 +1,11 @@
+package com.vitproject.task;
+
+/**
+ * How TaskManager runs its tasks
+ */
+public enum ExecutionMode {
+    /** Fixed pool of platform threads, sized by the constructor */
+    PLATFORM,
+    /** One virtual thread per task (Java 21+); falls back to PLATFORM on older runtimes */
+    VIRTUAL
+}
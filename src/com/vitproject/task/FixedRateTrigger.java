@@ -0,0 +1,38 @@
+package com.vitproject.task;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Fires every period, on multiples of the period counted from the epoch (UTC)
+ * "every 6h" therefore fires at 00:00, 06:00, 12:00 and 18:00 UTC whenever
+ * the scheduler happens to start.
+ */
+public class FixedRateTrigger implements Trigger {
+    private final long periodMillis;
+    
+    public FixedRateTrigger(Duration period) {
+        if (period.compareTo(Duration.ofSeconds(1)) < 0) {
+            throw new IllegalArgumentException("Fixed-rate period must be at least one second: " + period);
+        }
+        this.periodMillis = period.toMillis();
+    }
+    
+    @Override
+    public Instant nextFireTime(Instant after) {
+        long periods = Math.floorDiv(after.toEpochMilli(), periodMillis) + 1;
+        return Instant.ofEpochMilli(periods * periodMillis);
+    }
+    
+    @Override
+    public Instant lastFireTime(Instant fireTime, Instant atOrBefore) {
+        long periods = Math.floorDiv(atOrBefore.toEpochMilli(), periodMillis);
+        Instant latest = Instant.ofEpochMilli(periods * periodMillis);
+        return latest.isBefore(fireTime) ? fireTime : latest;
+    }
+    
+    @Override
+    public String toString() {
+        return "every " + Duration.ofMillis(periodMillis);
+    }
+}
@@ -0,0 +1,379 @@
+package com.vitproject.task;
+
+import com.vitproject.dao.JobRunDAO;
+import com.vitproject.exception.DatabaseException;
+import com.vitproject.model.JobRun;
+import com.vitproject.util.ClassLogger;
+import com.vitproject.util.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs recurring jobs (reports, maintenance) on cron or fixed-rate triggers
+ *
+ * A timer thread waits for each job's next fire time and hands the run to a
+ * worker thread, so a long job does not hold up the others. A job never runs
+ * twice at once: its next fire time is only scheduled once the current run
+ * has finished, and a runNow() that finds it running is refused. Fire times
+ * that went by while the job could not run are misfires, handled by the
+ * job's MisfirePolicy.
+ *
+ * Each run is recorded in the job_runs table with the fire time it belongs
+ * to. On start() a job resumes after its last finished run, so a window that
+ * already ran (successfully or not) is not run again after a restart, while
+ * a run cut short by a crash is. A failed run is retried at the next fire
+ * time, or with runNow(). Manual runs belong to no window and leave the
+ * recorded one alone, except that a fire time skipped because a manual run
+ * was still going counts as covered by it once that run ends.
+ *
+ * Configuration (used by the no-argument constructor):
+ * -Dscheduler.misfireThresholdSeconds (default 60), -Dscheduler.workers
+ * (default 2), -Dscheduler.shutdownTimeoutSeconds (default 30).
+ */
+public class JobScheduler {
+    private static final ClassLogger LOG = Logger.forClass(JobScheduler.class);
+    private final ScheduledExecutorService timer;
+    private final ExecutorService workers;
+    private final JobRunDAO jobRunDAO;
+    private final Duration misfireThreshold;
+    private final long shutdownTimeoutSeconds;
+    private final Map<String, ScheduledJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile boolean started;
+    private volatile boolean shutdown;
+    
+    /**
+     * Body of a scheduled job
+     */
+    @FunctionalInterface
+    public interface Job {
+        /**
+         * @return a short outcome message to record with the run, may be null
+         */
+        String run() throws Exception;
+    }
+    
+    private static final class ScheduledJob {
+        private final String name;
+        private final Trigger trigger;
+        private final MisfirePolicy misfirePolicy;
+        private final Job job;
+        private final AtomicBoolean running = new AtomicBoolean();
+        // Fire time skipped while a manual run held the job; guarded by the ScheduledJob's monitor
+        private Instant coveredWindow;
+        private volatile Instant nextFireTime;
+        
+        private ScheduledJob(String name, Trigger trigger, MisfirePolicy misfirePolicy, Job job) {
+            this.name = name;
+            this.trigger = trigger;
+            this.misfirePolicy = misfirePolicy;
+            this.job = job;
+        }
+    }
+    
+    public JobScheduler() {
+        this(new JobRunDAO(), Duration.ofSeconds(Long.getLong("scheduler.misfireThresholdSeconds", 60)),
+                Integer.getInteger("scheduler.workers", 2),
+                Long.getLong("scheduler.shutdownTimeoutSeconds", 30));
+    }
+    
+    /**
+     * @param jobRunDAO where last-run state is kept
+     * @param misfireThreshold how late a fire time may be before it counts as a misfire
+     * @param workerThreads jobs that can run at the same time (different jobs; one job never overlaps itself)
+     * @param shutdownTimeoutSeconds how long shutdown() waits for running jobs before interrupting them
+     */
+    public JobScheduler(JobRunDAO jobRunDAO, Duration misfireThreshold, int workerThreads,
+                        long shutdownTimeoutSeconds) {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("Scheduler needs at least one worker thread");
+        }
+        this.jobRunDAO = jobRunDAO;
+        this.misfireThreshold = misfireThreshold;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads,
+                runnable -> new Thread(runnable, "job-worker-" + threadNumber.incrementAndGet()));
+    }
+    
+    /**
+     * Add a job; it is scheduled when the scheduler starts, or straight away if it already has
+     * Synchronized with start() so a job is scheduled by exactly one of them.
+     */
+    public synchronized void register(String name, Trigger trigger, MisfirePolicy misfirePolicy, Job job) {
+        ScheduledJob scheduled = new ScheduledJob(name, trigger, misfirePolicy, job);
+        if (jobs.putIfAbsent(name, scheduled) != null) {
+            throw new IllegalArgumentException("Job already registered: " + name);
+        }
+        LOG.info("Scheduled job registered: " + name + " (" + trigger + ", misfire " + misfirePolicy + ")");
+        if (started) {
+            schedule(scheduled, firstFireTime(scheduled));
+        }
+    }
+    
+    /**
+     * Schedule every registered job, resuming after its last recorded run
+     */
+    public synchronized void start() {
+        if (started || shutdown) {
+            return;
+        }
+        started = true;
+        for (ScheduledJob job : snapshot()) {
+            schedule(job, firstFireTime(job));
+        }
+        LOG.info("JobScheduler started with " + jobs.size() + " job(s)");
+    }
+    
+    /**
+     * Run a job now, outside its schedule; its regular fire times are unchanged
+     * @return false if the job is already running (or the scheduler is shut down)
+     * @throws IllegalArgumentException if no job has that name
+     */
+    public boolean runNow(String name) {
+        ScheduledJob job = jobs.get(name);
+        if (job == null) {
+            throw new IllegalArgumentException("No such job: " + name);
+        }
+        if (shutdown || !job.running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            workers.execute(() -> execute(job, Instant.now(), false));
+            return true;
+        } catch (RejectedExecutionException e) {
+            job.running.set(false);
+            return false;
+        }
+    }
+    
+    public List<String> getJobNames() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.keySet());
+        }
+    }
+    
+    /**
+     * Next scheduled fire time of a job, or null if it is not scheduled
+     */
+    public Instant getNextFireTime(String name) {
+        ScheduledJob job = jobs.get(name);
+        return job != null ? job.nextFireTime : null;
+    }
+    
+    public boolean isRunning(String name) {
+        ScheduledJob job = jobs.get(name);
+        return job != null && job.running.get();
+    }
+    
+    /**
+     * Last recorded run of every job that has run at least once
+     */
+    public List<JobRun> getLastRuns() throws DatabaseException {
+        return jobRunDAO.readAll();
+    }
+    
+    /**
+     * Resolve where a job picks up after a start or restart
+     */
+    private Instant firstFireTime(ScheduledJob job) {
+        Instant now = Instant.now();
+        JobRun lastRun;
+        try {
+            lastRun = jobRunDAO.read(job.name);
+        } catch (DatabaseException e) {
+            LOG.error("Could not read last run of job " + job.name + "; waiting for its next fire time");
+            return job.trigger.nextFireTime(now);
+        }
+        
+        if (lastRun == null || lastRun.getScheduledAt() == null) {
+            return job.trigger.nextFireTime(now);
+        }
+        if (!lastRun.isWindowFinished()) {
+            // Interrupted mid-run: that window has not completed, so it is due again
+            LOG.warning("Job " + job.name + " did not finish its run for " + lastRun.getScheduledAt() +
+                    " (started " + lastRun.getStartedAt() + ")");
+            return resolveDue(job, lastRun.getScheduledAt(), now);
+        }
+        return resolveDue(job, job.trigger.nextFireTime(lastRun.getScheduledAt()), now);
+    }
+    
+    /**
+     * Turn a fire time that may already have passed into the one to schedule,
+     * applying the misfire policy if it is more than the threshold late
+     */
+    private Instant resolveDue(ScheduledJob job, Instant due, Instant now) {
+        if (due == null || due.isAfter(now)) {
+            return due;
+        }
+        
+        Instant latest = job.trigger.lastFireTime(due, now);
+        if (Duration.between(latest, now).compareTo(misfireThreshold) <= 0) {
+            return latest;
+        }
+        if (job.misfirePolicy == MisfirePolicy.RUN_ONCE) {
+            LOG.warning(() -> "Job " + job.name + " misfired (due " + due + "); running once for " + latest);
+            return latest;
+        }
+        Instant next = job.trigger.nextFireTime(now);
+        LOG.warning(() -> "Job " + job.name + " misfired (due " + due + "); skipping to " + next);
+        return next;
+    }
+    
+    private void schedule(ScheduledJob job, Instant fireTime) {
+        job.nextFireTime = fireTime;
+        if (fireTime == null) {
+            LOG.info("Job " + job.name + " has no further fire times");
+            return;
+        }
+        if (shutdown) {
+            return;
+        }
+        
+        long delayMillis = Math.max(0, Duration.between(Instant.now(), fireTime).toMillis());
+        try {
+            timer.schedule(() -> fire(job, fireTime), delayMillis, TimeUnit.MILLISECONDS);
+            LOG.debug(() -> "Job " + job.name + " next fires at " + fireTime);
+        } catch (RejectedExecutionException e) {
+            LOG.debug(() -> "Job " + job.name + " not scheduled: scheduler is shutting down");
+        }
+    }
+    
+    /**
+     * Timer thread: hand a due run to a worker
+     */
+    private void fire(ScheduledJob job, Instant scheduledAt) {
+        boolean claimed;
+        synchronized (job) {
+            claimed = job.running.compareAndSet(false, true);
+            if (!claimed) {
+                // Only a manual runNow() can hold the job here; let it stand in for this window
+                job.coveredWindow = scheduledAt;
+            }
+        }
+        if (!claimed) {
+            LOG.warning("Job " + job.name + " is still running manually; it stands in for the run for " + scheduledAt);
+            schedule(job, resolveDue(job, job.trigger.nextFireTime(scheduledAt), Instant.now()));
+            return;
+        }
+        try {
+            workers.execute(() -> execute(job, scheduledAt, true));
+        } catch (RejectedExecutionException e) {
+            job.running.set(false);
+        }
+    }
+    
+    /**
+     * Worker thread: run the job, record the outcome and schedule the next fire time.
+     * The caller has already claimed job.running.
+     */
+    private void execute(ScheduledJob job, Instant scheduledAt, boolean scheduled) {
+        Instant startedAt = Instant.now();
+        JobRun.Status status = JobRun.Status.FAILED;
+        String message = null;
+        try {
+            try {
+                if (scheduled) {
+                    jobRunDAO.recordStart(job.name, scheduledAt, startedAt);
+                } else {
+                    jobRunDAO.recordManualStart(job.name, startedAt);
+                }
+            } catch (DatabaseException e) {
+                LOG.error("Could not record start of job " + job.name + ": " + e.getMessage());
+            }
+            
+            LOG.info("Job " + job.name + " started" + (scheduled ? " for " + scheduledAt : " manually"));
+            message = job.job.run();
+            status = JobRun.Status.SUCCEEDED;
+            long elapsed = Duration.between(startedAt, Instant.now()).toMillis();
+            LOG.info("Job " + job.name + " succeeded in " + elapsed + " ms" +
+                    (message != null ? ": " + message : ""));
+            
+        } catch (Exception e) {
+            message = e.getMessage();
+            LOG.error("Job " + job.name + " failed: " + message);
+        } catch (Error e) {
+            message = e.toString();
+            LOG.error("Job " + job.name + " failed with " + message);
+            throw e;
+        } finally {
+            if (!scheduled || !shutdown || status == JobRun.Status.SUCCEEDED) {
+                // A scheduled run that fails during shutdown was most likely interrupted; leaving it
+                // RUNNING means its window runs again on restart
+                try {
+                    jobRunDAO.recordFinish(job.name, status, Instant.now(), message);
+                } catch (DatabaseException e) {
+                    LOG.error("Could not record end of job " + job.name + ": " + e.getMessage());
+                }
+            }
+            
+            Instant covered;
+            synchronized (job) {
+                job.running.set(false);
+                covered = job.coveredWindow;
+                job.coveredWindow = null;
+            }
+            if (covered != null) {
+                try {
+                    jobRunDAO.recordWindowCovered(job.name, covered);
+                } catch (DatabaseException e) {
+                    LOG.error("Could not record covered window of job " + job.name + ": " + e.getMessage());
+                }
+            }
+            
+            // In the finally block so that not even an Error drops the job from the schedule
+            if (scheduled) {
+                schedule(job, resolveDue(job, job.trigger.nextFireTime(scheduledAt), Instant.now()));
+            }
+        }
+    }
+    
+    private List<ScheduledJob> snapshot() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+    
+    /**
+     * Stop firing jobs and wait for running ones to finish
+     * Runs still going after the timeout are interrupted.
+     */
+    public void shutdown() {
+        LOG.info("Shutting down JobScheduler...");
+        shutdown = true;
+        timer.shutdownNow();
+        workers.shutdown();
+        
+        try {
+            if (!workers.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                LOG.warning("Scheduled jobs did not finish within timeout. Interrupting them...");
+                workers.shutdownNow();
+                if (!workers.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                    LOG.error("Job workers did not terminate");
+                }
+            }
+            LOG.info("JobScheduler shutdown completed");
+        } catch (InterruptedException e) {
+            LOG.error("Shutdown interrupted: " + e.getMessage());
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
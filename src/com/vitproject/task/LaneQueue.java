@@ -0,0 +1,325 @@
+package com.vitproject.task;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded work queue with an interactive lane served ahead of a batch lane
+ *
+ * Both lanes share one capacity. Within a lane tasks are FIFO. The time
+ * each task spends queued is measured when it is taken, per lane.
+ */
+class LaneQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<Entry> interactive = new ArrayDeque<>();
+    private final ArrayDeque<Entry> batch = new ArrayDeque<>();
+    // Statistics, guarded by lock
+    private int peakDepth;
+    private long interactiveDequeued;
+    private long batchDequeued;
+    private long interactiveWaitNanos;
+    private long batchWaitNanos;
+    private long maxWaitNanos;
+    
+    LaneQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be at least 1");
+        }
+        this.capacity = capacity;
+    }
+    
+    @Override
+    public boolean offer(Runnable task) {
+        lock.lock();
+        try {
+            if (size() >= capacity) {
+                return false;
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size() >= capacity) {
+                notFull.await();
+            }
+            enqueue(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size() == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size() == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return size() == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            Entry head = !interactive.isEmpty() ? interactive.peekFirst() : batch.peekFirst();
+            return head != null ? head.task : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Remove the oldest live task of a lane without counting it as dequeued, or return null if there is none
+     * Cancelled tasks met on the way are discarded, so dropping one never frees a slot that was already dead.
+     */
+    Runnable pollOldest(TaskPriority priority) {
+        lock.lock();
+        try {
+            ArrayDeque<Entry> lane = lane(priority);
+            Entry oldest;
+            boolean removed = false;
+            while ((oldest = lane.pollFirst()) != null) {
+                removed = true;
+                if (!isCancelled(oldest.task)) {
+                    break;
+                }
+            }
+            if (removed) {
+                notFull.signalAll();
+            }
+            return oldest != null ? oldest.task : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean remove(Object task) {
+        lock.lock();
+        try {
+            boolean removed = interactive.removeIf(entry -> entry.task == task) ||
+                    batch.removeIf(entry -> entry.task == task);
+            if (removed) {
+                notFull.signal();
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return interactive.size() + batch.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    int size(TaskPriority priority) {
+        lock.lock();
+        try {
+            return lane(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+    
+    int getCapacity() {
+        return capacity;
+    }
+    
+    @Override
+    public int drainTo(Collection<? super Runnable> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public int drainTo(Collection<? super Runnable> target, int maxElements) {
+        lock.lock();
+        try {
+            int drained = 0;
+            while (drained < maxElements && size() > 0) {
+                target.add(dequeue());
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Snapshot iterator in dequeue order
+     * remove() takes the last returned task out of the queue if it is still
+     * queued, which is what ThreadPoolExecutor.purge() relies on.
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot;
+        lock.lock();
+        try {
+            snapshot = new ArrayList<>(size());
+            interactive.forEach(entry -> snapshot.add(entry.task));
+            batch.forEach(entry -> snapshot.add(entry.task));
+        } finally {
+            lock.unlock();
+        }
+        
+        Iterator<Runnable> tasks = snapshot.iterator();
+        return new Iterator<>() {
+            private Runnable last;
+            
+            @Override
+            public boolean hasNext() {
+                return tasks.hasNext();
+            }
+            
+            @Override
+            public Runnable next() {
+                last = tasks.next();
+                return last;
+            }
+            
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                LaneQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+    
+    QueueStats stats(long rejected, long dropped, long callerRuns) {
+        lock.lock();
+        try {
+            return new QueueStats(capacity, interactive.size(), batch.size(), peakDepth,
+                    interactiveDequeued, batchDequeued, interactiveWaitNanos, batchWaitNanos, maxWaitNanos,
+                    rejected, dropped, callerRuns);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // Callers hold the lock
+    private void enqueue(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        lane(PrioritizedTask.priorityOf(task)).addLast(new Entry(task, System.nanoTime()));
+        peakDepth = Math.max(peakDepth, size());
+        notEmpty.signal();
+    }
+    
+    // Callers hold the lock and have checked that a task is queued
+    private Runnable dequeue() {
+        boolean fromInteractive = !interactive.isEmpty();
+        Entry entry = fromInteractive ? interactive.pollFirst() : batch.pollFirst();
+        long waited = System.nanoTime() - entry.enqueuedAt;
+        if (fromInteractive) {
+            interactiveDequeued++;
+            interactiveWaitNanos += waited;
+        } else {
+            batchDequeued++;
+            batchWaitNanos += waited;
+        }
+        maxWaitNanos = Math.max(maxWaitNanos, waited);
+        notFull.signal();
+        return entry.task;
+    }
+    
+    private static boolean isCancelled(Runnable task) {
+        return task instanceof Future && ((Future<?>) task).isCancelled();
+    }
+    
+    private ArrayDeque<Entry> lane(TaskPriority priority) {
+        return priority == TaskPriority.INTERACTIVE ? interactive : batch;
+    }
+    
+    private static class Entry {
+        private final Runnable task;
+        private final long enqueuedAt;
+        
+        private Entry(Runnable task, long enqueuedAt) {
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.vitproject.task;
+
+/**
+ * What JobScheduler does when a job's fire time passed without it running,
+ * because the application was down or the previous run overran
+ * Fire times less than the misfire threshold late are not misfires and just run.
+ */
+public enum MisfirePolicy {
+    /** Run once straight away for the latest missed window; earlier missed windows are folded into it */
+    RUN_ONCE,
+    /** Leave the missed windows and wait for the next fire time */
+    SKIP
+}
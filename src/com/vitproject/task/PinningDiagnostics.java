@@ -0,0 +1,89 @@
+package com.vitproject.task;
+
+import com.vitproject.util.ClassLogger;
+import com.vitproject.util.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier while blocking
+ *
+ * A virtual thread that blocks inside a synchronized block (or a native
+ * frame) cannot unmount, so it ties up a carrier thread and limits how many
+ * tasks really run at once. The JVM records this as the JFR event
+ * jdk.VirtualThreadPinned; this class streams those events in-process and
+ * logs each one that lasts longer than the threshold, with the frames where
+ * it happened. On runtimes without virtual threads the event never fires.
+ */
+final class PinningDiagnostics implements AutoCloseable {
+    private static final ClassLogger LOG = Logger.forClass(PinningDiagnostics.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int FRAMES_LOGGED = 5;
+    
+    private final RecordingStream stream;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final AtomicLong pinnedNanos = new AtomicLong();
+    
+    private PinningDiagnostics(RecordingStream stream) {
+        this.stream = stream;
+    }
+    
+    /**
+     * Start listening for pinned virtual threads, or return null if JFR streaming is unavailable
+     */
+    static PinningDiagnostics start(Duration threshold) {
+        try {
+            RecordingStream stream = new RecordingStream();
+            PinningDiagnostics diagnostics = new PinningDiagnostics(stream);
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, diagnostics::onPinned);
+            stream.startAsync();
+            LOG.info("Pinning diagnostics enabled (threshold " + threshold.toMillis() + " ms)");
+            return diagnostics;
+        } catch (RuntimeException | LinkageError e) {
+            LOG.warning("Pinning diagnostics unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    long getPinnedCount() {
+        return pinnedCount.get();
+    }
+    
+    Duration getPinnedTime() {
+        return Duration.ofNanos(pinnedNanos.get());
+    }
+    
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        pinnedNanos.addAndGet(event.getDuration().toNanos());
+        
+        String frames = "";
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> top = event.getStackTrace().getFrames();
+            frames = top.stream()
+                    .limit(FRAMES_LOGGED)
+                    .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() +
+                            ":" + frame.getLineNumber())
+                    .collect(Collectors.joining(" <- "));
+        }
+        String where = frames;
+        LOG.warning(() -> "Virtual thread pinned for " + event.getDuration().toMillis() + " ms at " + where);
+    }
+    
+    @Override
+    public void close() {
+        stream.close();
+        if (pinnedCount.get() > 0) {
+            LOG.warning("Virtual threads were pinned " + pinnedCount.get() + " times for " +
+                    getPinnedTime().toMillis() + " ms in total");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.vitproject.task;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * FutureTask tagged with the queue lane it belongs to
+ */
+class PrioritizedTask<T> extends FutureTask<T> {
+    private final TaskPriority priority;
+    private final CompletableFuture<T> completion = new CompletableFuture<>();
+    
+    PrioritizedTask(Callable<T> callable, TaskPriority priority) {
+        super(callable);
+        this.priority = priority;
+    }
+    
+    TaskPriority getPriority() {
+        return priority;
+    }
+    
+    /**
+     * Future completed with this task's outcome, including cancellation before it ever ran
+     */
+    CompletableFuture<T> completion() {
+        return completion;
+    }
+    
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            completion.cancel(false);
+            return;
+        }
+        try {
+            completion.complete(get());
+        } catch (ExecutionException e) {
+            completion.completeExceptionally(e.getCause());
+        } catch (InterruptedException e) {
+            // Not reachable: get() does not block once the task is done
+            Thread.currentThread().interrupt();
+            completion.completeExceptionally(e);
+        }
+    }
+    
+    /**
+     * Lane of any queued Runnable; tasks submitted without a priority count as batch work
+     */
+    static TaskPriority priorityOf(Runnable task) {
+        return task instanceof PrioritizedTask ? ((PrioritizedTask<?>) task).getPriority() : TaskPriority.BATCH;
+    }
+}
@@ -0,0 +1,15 @@
+package com.vitproject.task;
+
+/**
+ * What TaskManager does with a submission when its bounded queue is full
+ */
+public enum QueueFullPolicy {
+    /** Submitter waits until a slot frees up */
+    BLOCK,
+    /** Submitter runs the task itself, which also slows further submissions */
+    CALLER_RUNS,
+    /** Oldest queued batch task is cancelled to make room (an interactive one only for interactive work) */
+    DROP_OLDEST,
+    /** Submission fails with RejectedExecutionException */
+    FAIL_FAST
+}
@@ -0,0 +1,106 @@
+package com.vitproject.task;
+
+/**
+ * Point-in-time snapshot of a TaskManager's submission queue
+ */
+public class QueueStats {
+    private final int capacity;
+    private final int interactiveDepth;
+    private final int batchDepth;
+    private final int peakDepth;
+    private final long interactiveDequeued;
+    private final long batchDequeued;
+    private final long interactiveWaitNanos;
+    private final long batchWaitNanos;
+    private final long maxWaitNanos;
+    private final long rejected;
+    private final long dropped;
+    private final long callerRuns;
+    
+    public QueueStats(int capacity, int interactiveDepth, int batchDepth, int peakDepth,
+                      long interactiveDequeued, long batchDequeued, long interactiveWaitNanos, long batchWaitNanos,
+                      long maxWaitNanos, long rejected, long dropped, long callerRuns) {
+        this.capacity = capacity;
+        this.interactiveDepth = interactiveDepth;
+        this.batchDepth = batchDepth;
+        this.peakDepth = peakDepth;
+        this.interactiveDequeued = interactiveDequeued;
+        this.batchDequeued = batchDequeued;
+        this.interactiveWaitNanos = interactiveWaitNanos;
+        this.batchWaitNanos = batchWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.rejected = rejected;
+        this.dropped = dropped;
+        this.callerRuns = callerRuns;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public int getInteractiveDepth() {
+        return interactiveDepth;
+    }
+    
+    public int getBatchDepth() {
+        return batchDepth;
+    }
+    
+    public int getDepth() {
+        return interactiveDepth + batchDepth;
+    }
+    
+    /**
+     * Most tasks that have been queued at the same time
+     */
+    public int getPeakDepth() {
+        return peakDepth;
+    }
+    
+    /**
+     * Mean time an interactive task spent queued, in milliseconds
+     */
+    public double getAverageInteractiveWaitMillis() {
+        return interactiveDequeued == 0 ? 0.0 : interactiveWaitNanos / 1_000_000.0 / interactiveDequeued;
+    }
+    
+    /**
+     * Mean time a batch task spent queued, in milliseconds
+     */
+    public double getAverageBatchWaitMillis() {
+        return batchDequeued == 0 ? 0.0 : batchWaitNanos / 1_000_000.0 / batchDequeued;
+    }
+    
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+    
+    /**
+     * Submissions refused under FAIL_FAST (or after shutdown)
+     */
+    public long getRejected() {
+        return rejected;
+    }
+    
+    /**
+     * Tasks cancelled under DROP_OLDEST
+     */
+    public long getDropped() {
+        return dropped;
+    }
+    
+    /**
+     * Tasks run on the submitting thread under CALLER_RUNS
+     */
+    public long getCallerRuns() {
+        return callerRuns;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("QueueStats{depth=%d/%d (interactive=%d, batch=%d), peak=%d, " +
+                        "avgWait interactive=%.1fms batch=%.1fms, maxWait=%.1fms, rejected=%d, dropped=%d, callerRuns=%d}",
+                getDepth(), capacity, interactiveDepth, batchDepth, peakDepth, getAverageInteractiveWaitMillis(),
+                getAverageBatchWaitMillis(), getMaxWaitMillis(), rejected, dropped, callerRuns);
+    }
+}
@@ -1,78 +1,429 @@
 package com.vitproject.task;
 
 import com.vitproject.model.Student;
+import com.vitproject.util.ClassLogger;
+import com.vitproject.util.DatabaseConnection;
 import com.vitproject.util.Logger;
+import com.vitproject.util.SystemProperties;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 /**
  * Task manager demonstrating ExecutorService for concurrent operations
  * Shows multithreading and concurrent task execution
+ *
+ * Tasks run on a fixed pool of platform threads or, in VIRTUAL mode, on one
+ * virtual thread each (Java 21+), which suits tasks that mostly wait on JDBC
+ * or file I/O. Either way a semaphore caps how many tasks run at once so a
+ * fan-out of thousands of tasks cannot exceed the database connection budget.
+ *
+ * In PLATFORM mode submissions wait in a bounded queue with two lanes:
+ * INTERACTIVE tasks are always started before BATCH ones. What happens when
+ * the queue is full is set by a QueueFullPolicy. Depth and wait times are
+ * available from getQueueStats(). (Virtual threads are not queued; there the
+ * depth reported is the number of tasks waiting for a concurrency permit.)
+ *
+ * Configuration (used by the shorter constructors):
+ * -Dtask.executionMode=PLATFORM|VIRTUAL, -Dtask.maxConcurrency (default: the
+ * connection pool's maxSize), -Dtask.queueCapacity (default 1000),
+ * -Dtask.queuePolicy=BLOCK|CALLER_RUNS|DROP_OLDEST|FAIL_FAST (default BLOCK),
+ * -Dtask.pinningDiagnostics=true to log virtual threads pinned longer than
+ * -Dtask.pinningThresholdMillis (default 20).
  */
 public class TaskManager {
+    private static final ClassLogger LOG = Logger.forClass(TaskManager.class);
     private ExecutorService executorService;
+    private final ForkJoinPool forkJoinPool;
     private int threadPoolSize;
+    private ExecutionMode executionMode;
+    private final Semaphore concurrencyLimiter;
+    private final int maxConcurrency;
+    private final PinningDiagnostics pinningDiagnostics;
+    private final LaneQueue workQueue;
+    private final QueueFullPolicy queueFullPolicy;
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger peakRunning = new AtomicInteger();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong failedTasks = new AtomicLong();
+    private final AtomicLong limiterWaitNanos = new AtomicLong();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+    private final AtomicLong droppedTasks = new AtomicLong();
+    private final AtomicLong callerRunsTasks = new AtomicLong();
+    
+    /**
+     * Progress callback for processAll; called from worker threads as each batch finishes
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int completed, int failed, int total);
+    }
     
     public TaskManager(int threadPoolSize) {
+        this(threadPoolSize,
+                SystemProperties.getEnum("task.executionMode", ExecutionMode.class, ExecutionMode.PLATFORM),
+                Integer.getInteger("task.maxConcurrency", DatabaseConnection.getMaxPoolSize()));
+    }
+    
+    public TaskManager(int threadPoolSize, ExecutionMode executionMode) {
+        this(threadPoolSize, executionMode, Integer.getInteger("task.maxConcurrency",
+                DatabaseConnection.getMaxPoolSize()));
+    }
+    
+    public TaskManager(int threadPoolSize, ExecutionMode executionMode, int maxConcurrency) {
+        this(threadPoolSize, executionMode, maxConcurrency, Integer.getInteger("task.queueCapacity", 1000),
+                SystemProperties.getEnum("task.queuePolicy", QueueFullPolicy.class, QueueFullPolicy.BLOCK));
+    }
+    
+    /**
+     * @param threadPoolSize platform threads in PLATFORM mode; also the number of chunks work is split into
+     * @param executionMode PLATFORM or VIRTUAL
+     * @param maxConcurrency most tasks running at the same time, whatever the mode
+     * @param queueCapacity most tasks waiting to start (PLATFORM mode)
+     * @param queueFullPolicy what a submission does when the queue is full
+     */
+    public TaskManager(int threadPoolSize, ExecutionMode executionMode, int maxConcurrency, int queueCapacity,
+                       QueueFullPolicy queueFullPolicy) {
+        if (threadPoolSize < 1 || maxConcurrency < 1) {
+            throw new IllegalArgumentException("Thread pool size and max concurrency must be at least 1");
+        }
         this.threadPoolSize = threadPoolSize;
-        this.executorService = Executors.newFixedThreadPool(threadPoolSize);
-        Logger.info("TaskManager initialized with thread pool size: " + threadPoolSize);
+        this.maxConcurrency = maxConcurrency;
+        this.concurrencyLimiter = new Semaphore(maxConcurrency, true);
+        // No more workers than permits, so adaptive batches do not sit on idle workers waiting for one
+        this.forkJoinPool = new ForkJoinPool(Math.min(threadPoolSize, maxConcurrency));
+        this.queueFullPolicy = queueFullPolicy;
+        
+        ExecutorService virtualExecutor = executionMode == ExecutionMode.VIRTUAL ? newVirtualThreadExecutor() : null;
+        if (virtualExecutor != null) {
+            this.executorService = virtualExecutor;
+            this.executionMode = ExecutionMode.VIRTUAL;
+            this.workQueue = null;
+        } else {
+            if (executionMode == ExecutionMode.VIRTUAL) {
+                LOG.warning("Virtual threads need Java 21 or later (running " +
+                        Runtime.version() + "); using a platform thread pool");
+            }
+            this.workQueue = new LaneQueue(queueCapacity);
+            this.executorService = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 0L, TimeUnit.MILLISECONDS,
+                    workQueue, this::queueFull);
+            this.executionMode = ExecutionMode.PLATFORM;
+        }
+        
+        this.pinningDiagnostics = this.executionMode == ExecutionMode.VIRTUAL &&
+                Boolean.getBoolean("task.pinningDiagnostics")
+                ? PinningDiagnostics.start(Duration.ofMillis(Long.getLong("task.pinningThresholdMillis", 20)))
+                : null;
+        
+        LOG.info("TaskManager initialized in " + this.executionMode + " mode with thread pool size: " +
+                threadPoolSize + ", max concurrency: " + maxConcurrency +
+                (workQueue != null ? ", queue capacity: " + queueCapacity + " (" + queueFullPolicy + ")" : ""));
+    }
+    
+    /**
+     * Process students concurrently in adaptively sized batches (see processAdaptive)
+     * @return the number of names each task processed; completes when all tasks are done
+     */
+    public CompletableFuture<List<Integer>> processStudentsConcurrently(List<Student> students) {
+        return processStudentsConcurrently(students, null, null);
+    }
+    
+    public CompletableFuture<List<Integer>> processStudentsConcurrently(List<Student> students,
+                                                                        ProgressListener listener) {
+        return processStudentsConcurrently(students, null, listener);
     }
     
     /**
-     * Process students concurrently using ExecutorService
+     * @param cost work per student (e.g. one plus its grade count), or null to split by count
+     * @param listener progress callback in students, may be null
      */
-    public void processStudentsConcurrently(List<Student> students) {
+    public CompletableFuture<List<Integer>> processStudentsConcurrently(List<Student> students,
+                                                                        ToLongFunction<? super Student> cost,
+                                                                        ProgressListener listener) {
         if (students == null || students.isEmpty()) {
-            Logger.warning("No students to process");
-            return;
+            LOG.warning("No students to process");
+            return CompletableFuture.completedFuture(List.of());
+        }
+        
+        AtomicInteger taskNumber = new AtomicInteger();
+        return processAdaptive(students, chunk -> {
+            DataProcessor processor = new DataProcessor(chunk, "Task-" + taskNumber.incrementAndGet());
+            try {
+                return processor.process();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Task interrupted");
+            }
+        }, cost, 0, listener);
+    }
+    
+    /**
+     * Split items into batches, apply the function to each batch concurrently and collect the results
+     * @return results in batch order; fails with the first batch failure
+     */
+    public <T, R> CompletableFuture<List<R>> processAll(List<T> items, Function<List<T>, R> batchFunction) {
+        return processAll(items, batchFunction, null, null);
+    }
+    
+    /**
+     * Split items into batches, apply the function to each batch concurrently and collect the results
+     *
+     * The returned future completes with one result per batch, in batch
+     * order, once every batch has succeeded. If any batch throws or times out,
+     * it completes exceptionally with that failure and the remaining batches
+     * are cancelled. Cancelling the returned future cancels (and interrupts)
+     * every batch that has not finished.
+     *
+     * @param batchTimeout limit for each batch, counted from submission; null for none
+     * @param listener progress callback, may be null
+     */
+    public <T, R> CompletableFuture<List<R>> processAll(List<T> items, Function<List<T>, R> batchFunction,
+                                                        Duration batchTimeout, ProgressListener listener) {
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
         }
         
-        // Divide students into chunks for parallel processing
-        int chunkSize = Math.max(1, students.size() / threadPoolSize);
-        List<List<Student>> chunks = new ArrayList<>();
+        List<List<T>> chunks = partition(items);
+        LOG.info("Divided " + items.size() + " items into " + chunks.size() + " chunks");
+        
+        int total = chunks.size();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CompletableFuture<List<R>> result = new CompletableFuture<>();
+        List<CompletableFuture<R>> batches = new ArrayList<>(total);
         
-        for (int i = 0; i < students.size(); i += chunkSize) {
-            int end = Math.min(i + chunkSize, students.size());
-            chunks.add(new ArrayList<>(students.subList(i, end)));
+        for (List<T> chunk : chunks) {
+            CompletableFuture<R> batch;
+            try {
+                batch = submitBatch(() -> batchFunction.apply(chunk), batchTimeout);
+            } catch (RejectedExecutionException e) {
+                // FAIL_FAST (or shutdown): give up on the run and cancel what was already queued
+                LOG.warning("Batch rejected after " + batches.size() + " of " + total + " submitted: " +
+                        e.getMessage());
+                result.completeExceptionally(e);
+                batches.forEach(submitted -> submitted.cancel(true));
+                return result;
+            }
+            batch.whenComplete((value, error) -> {
+                if (error == null) {
+                    int done = completed.incrementAndGet();
+                    notifyProgress(listener, done, failed.get(), total);
+                } else {
+                    int errors = failed.incrementAndGet();
+                    notifyProgress(listener, completed.get(), errors, total);
+                    result.completeExceptionally(error);
+                }
+            });
+            batches.add(batch);
         }
         
-        Logger.info("Divided " + students.size() + " students into " + chunks.size() + " chunks");
+        CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+            List<R> results = new ArrayList<>(total);
+            for (CompletableFuture<R> batch : batches) {
+                results.add(batch.join());
+            }
+            result.complete(results);
+        });
+        // A failure, timeout or cancellation of the whole run stops the batches still going
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                batches.forEach(batch -> batch.cancel(true));
+            }
+        });
         
-        // Submit tasks to executor service
-        for (int i = 0; i < chunks.size(); i++) {
-            DataProcessor processor = new DataProcessor(chunks.get(i), "Task-" + (i + 1));
-            executorService.submit(processor);
+        LOG.info("Submitted " + total + " tasks to executor service");
+        return result;
+    }
+    
+    /**
+     * Process items in adaptively sized batches on a work-stealing pool
+     *
+     * Unlike processAll, the batches are not fixed up front: the list is split
+     * recursively (see AdaptivePartitioner) until a batch's cost is at most
+     * the threshold, and idle workers steal pending halves. Results come back
+     * in list order, one per leaf batch. Progress is reported in items.
+     * Cancelling the returned future skips every batch that has not started.
+     *
+     * @param cost cost of one item (e.g. its grade count), or null to split by count
+     * @param threshold largest cost per batch; 0 picks about four batches per worker
+     * @param listener progress callback, may be null
+     */
+    public <T, R> CompletableFuture<List<R>> processAdaptive(List<T> items, Function<List<T>, R> batchFunction,
+                                                             ToLongFunction<? super T> cost, long threshold,
+                                                             ProgressListener listener) {
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
         }
         
-        Logger.info("Submitted " + chunks.size() + " tasks to executor service");
+        AdaptivePartitioner<T> partitioner = new AdaptivePartitioner<>(items, cost, threshold,
+                forkJoinPool.getParallelism());
+        int total = items.size();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CompletableFuture<List<R>> result = new CompletableFuture<>();
+        
+        Function<List<T>, R> leaf = batch -> {
+            if (result.isDone()) {
+                throw new CancellationException("Run already finished");
+            }
+            try {
+                R value = runLimited(() -> batchFunction.apply(batch));
+                notifyProgress(listener, completed.addAndGet(batch.size()), failed.get(), total);
+                return value;
+            } catch (RuntimeException e) {
+                notifyProgress(listener, completed.get(), failed.addAndGet(batch.size()), total);
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for a concurrency permit");
+            } catch (Exception e) {
+                notifyProgress(listener, completed.get(), failed.addAndGet(batch.size()), total);
+                throw new IllegalStateException(e);
+            }
+        };
+        
+        Future<?> root = forkJoinPool.submit(() -> {
+            try {
+                result.complete(partitioner.newTask(leaf).invoke());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                root.cancel(true);
+            }
+        });
+        
+        LOG.info("Processing " + items.size() + " items adaptively with batch cost threshold " +
+                partitioner.getThreshold());
+        return result;
+    }
+    
+    public <T, R> CompletableFuture<List<R>> processAdaptive(List<T> items, Function<List<T>, R> batchFunction,
+                                                             ToLongFunction<? super T> cost) {
+        return processAdaptive(items, batchFunction, cost, 0, null);
+    }
+    
+    /**
+     * Run one interactive task, waiting for a concurrency permit first
+     * In VIRTUAL mode the wait parks only the task's own virtual thread, so
+     * tens of thousands of tasks can be submitted at once.
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return submit(task, TaskPriority.INTERACTIVE);
+    }
+    
+    public Future<?> submit(Runnable task) {
+        return submit(Executors.callable(task), TaskPriority.INTERACTIVE);
+    }
+    
+    /**
+     * Run one task in the given queue lane
+     * @throws RejectedExecutionException if the queue is full under FAIL_FAST, or after shutdown
+     */
+    public <T> Future<T> submit(Callable<T> task, TaskPriority priority) {
+        PrioritizedTask<T> prioritized = new PrioritizedTask<>(() -> runLimited(task), priority);
+        execute(prioritized);
+        return prioritized;
+    }
+    
+    /**
+     * Queue depth per lane, wait times and rejection counts
+     */
+    public QueueStats getQueueStats() {
+        if (workQueue == null) {
+            return new QueueStats(0, 0, concurrencyLimiter.getQueueLength(), 0, 0, 0, 0, 0, 0,
+                    rejectedTasks.get(), droppedTasks.get(), callerRunsTasks.get());
+        }
+        return workQueue.stats(rejectedTasks.get(), droppedTasks.get(), callerRunsTasks.get());
+    }
+    
+    public QueueFullPolicy getQueueFullPolicy() {
+        return queueFullPolicy;
+    }
+    
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+    
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    /**
+     * Most tasks that have been running at the same time
+     */
+    public int getPeakConcurrency() {
+        return peakRunning.get();
+    }
+    
+    /**
+     * Tasks that returned normally
+     */
+    public long getCompletedTasks() {
+        return completedTasks.get();
+    }
+    
+    /**
+     * Tasks that threw, including ones interrupted by cancellation
+     */
+    public long getFailedTasks() {
+        return failedTasks.get();
     }
     
     /**
      * Shutdown executor service gracefully
      */
     public void shutdown() {
-        Logger.info("Shutting down TaskManager...");
+        LOG.info("Shutting down TaskManager...");
         executorService.shutdown();
+        forkJoinPool.shutdown();
         
         try {
             if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
-                Logger.warning("Tasks did not complete within timeout. Forcing shutdown...");
+                LOG.warning("Tasks did not complete within timeout. Forcing shutdown...");
                 executorService.shutdownNow();
+                forkJoinPool.shutdownNow();
                 
                 if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
-                    Logger.error("Executor service did not terminate");
+                    LOG.error("Executor service did not terminate");
                 }
             }
-            Logger.info("TaskManager shutdown completed");
+            if (!forkJoinPool.awaitTermination(60, TimeUnit.SECONDS)) {
+                LOG.warning("Work-stealing pool did not terminate");
+                forkJoinPool.shutdownNow();
+            }
+            LOG.info("TaskManager shutdown completed: " + completedTasks.get() + " tasks completed, " +
+                    failedTasks.get() + " failed, peak concurrency " +
+                    peakRunning.get() + ", " + TimeUnit.NANOSECONDS.toMillis(limiterWaitNanos.get()) +
+                    " ms waiting for permits, " + getQueueStats());
         } catch (InterruptedException e) {
-            Logger.error("Shutdown interrupted: " + e.getMessage());
+            LOG.error("Shutdown interrupted: " + e.getMessage());
             executorService.shutdownNow();
+            forkJoinPool.shutdownNow();
             Thread.currentThread().interrupt();
+        } finally {
+            if (pinningDiagnostics != null) {
+                pinningDiagnostics.close();
+            }
         }
     }
     
@@ -80,7 +431,152 @@ public class TaskManager {
      * Check if executor is shutdown
      */
     public boolean isShutdown() {
-        return executorService.isShutdown();
+        return executorService.isShutdown() && forkJoinPool.isShutdown();
+    }
+    
+    /**
+     * Queue one batch-lane task; completing the future early (cancel, timeout) interrupts the task
+     */
+    private <R> CompletableFuture<R> submitBatch(Callable<R> work, Duration timeout) {
+        PrioritizedTask<R> task = new PrioritizedTask<>(() -> runLimited(work), TaskPriority.BATCH);
+        execute(task);
+        CompletableFuture<R> batch = task.completion();
+        if (timeout != null) {
+            batch.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        batch.whenComplete((value, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return batch;
+    }
+    
+    /**
+     * Hand a task to the executor; in PLATFORM mode a task cancelled while queued gives its slot back at once
+     */
+    private void execute(PrioritizedTask<?> task) {
+        executorService.execute(task);
+        if (executorService instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor executor = (ThreadPoolExecutor) executorService;
+            task.completion().whenComplete((value, error) -> {
+                if (task.isCancelled()) {
+                    executor.remove(task);
+                }
+            });
+        }
+    }
+    
+    private <T> List<List<T>> partition(List<T> items) {
+        // Divide items into at most threadPoolSize chunks (rounding up, so small inputs
+        // do not end up with more chunks than threads)
+        int chunkSize = Math.max(1, (items.size() + threadPoolSize - 1) / threadPoolSize);
+        List<List<T>> chunks = new ArrayList<>();
+        
+        for (int i = 0; i < items.size(); i += chunkSize) {
+            int end = Math.min(i + chunkSize, items.size());
+            chunks.add(new ArrayList<>(items.subList(i, end)));
+        }
+        return chunks;
+    }
+    
+    private static void notifyProgress(ProgressListener listener, int completed, int failed, int total) {
+        if (listener != null) {
+            try {
+                listener.onProgress(completed, failed, total);
+            } catch (RuntimeException e) {
+                LOG.warning("Progress listener failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    private <T> T runLimited(Callable<T> task) throws Exception {
+        long waitStart = System.nanoTime();
+        // A plain acquire: under ForkJoinPool.managedBlock the adaptive pool would add spare
+        // threads for the blocked workers, which the limiter then blocks as well
+        concurrencyLimiter.acquire();
+        limiterWaitNanos.addAndGet(System.nanoTime() - waitStart);
+        peakRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            T result = task.call();
+            completedTasks.incrementAndGet();
+            return result;
+        } catch (Throwable e) {
+            failedTasks.incrementAndGet();
+            throw e;
+        } finally {
+            running.decrementAndGet();
+            concurrencyLimiter.release();
+        }
+    }
+    
+    /**
+     * Handler for a full queue (PLATFORM mode), applying the configured policy
+     */
+    private void queueFull(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            rejectedTasks.incrementAndGet();
+            throw new RejectedExecutionException("TaskManager is shut down");
+        }
+        
+        switch (queueFullPolicy) {
+            case BLOCK:
+                try {
+                    workQueue.put(task);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    rejectedTasks.incrementAndGet();
+                    throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+                }
+                // Shut down while we waited: the task would never be picked up
+                if (executor.isShutdown() && workQueue.remove(task)) {
+                    rejectedTasks.incrementAndGet();
+                    throw new RejectedExecutionException("TaskManager is shut down");
+                }
+                break;
+            case CALLER_RUNS:
+                callerRunsTasks.incrementAndGet();
+                task.run();
+                break;
+            case DROP_OLDEST:
+                // Batch work is dropped first; an interactive task is only ever displaced by another one
+                Runnable victim = workQueue.pollOldest(TaskPriority.BATCH);
+                if (victim == null && PrioritizedTask.priorityOf(task) == TaskPriority.INTERACTIVE) {
+                    victim = workQueue.pollOldest(TaskPriority.INTERACTIVE);
+                }
+                droppedTasks.incrementAndGet();
+                if (victim == null) {
+                    cancelDropped(task);
+                    return;
+                }
+                cancelDropped(victim);
+                executor.execute(task);
+                break;
+            case FAIL_FAST:
+            default:
+                rejectedTasks.incrementAndGet();
+                throw new RejectedExecutionException("Task queue is full (capacity " + workQueue.getCapacity() + ")");
+        }
+    }
+    
+    private static void cancelDropped(Runnable task) {
+        LOG.warning("Task queue full: dropped a " + PrioritizedTask.priorityOf(task) + " task");
+        if (task instanceof Future) {
+            ((Future<?>) task).cancel(false);
+        }
+    }
+    
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() when the runtime has it (Java 21+), else null
+     * Looked up reflectively so the code still compiles and runs on Java 17.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
     }
 }
 
@@ -0,0 +1,11 @@
+package com.vitproject.task;
+
+/**
+ * Queue lane a TaskManager task waits in
+ */
+public enum TaskPriority {
+    /** User-facing work; always dequeued before any batch task */
+    INTERACTIVE,
+    /** Bulk work such as processAll batches */
+    BATCH
+}
@@ -0,0 +1,58 @@
+package com.vitproject.task;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * When a scheduled job fires
+ * Fire times are a pure function of the trigger, not of when the scheduler
+ * started, so a restarted scheduler sees the same windows: the window of a
+ * fire time lasts until the next one.
+ */
+public interface Trigger {
+    
+    /**
+     * First fire time strictly after the given instant, or null if the trigger never fires again
+     */
+    Instant nextFireTime(Instant after);
+    
+    /**
+     * Latest fire time at or before the given instant, searching forward from a known fire time
+     * @param fireTime a fire time of this trigger, at or before {@code atOrBefore}
+     */
+    default Instant lastFireTime(Instant fireTime, Instant atOrBefore) {
+        Instant latest = fireTime;
+        for (Instant next = nextFireTime(latest); next != null && !next.isAfter(atOrBefore);
+             next = nextFireTime(latest)) {
+            latest = next;
+        }
+        return latest;
+    }
+    
+    static Trigger cron(String expression) {
+        return new CronTrigger(expression, ZoneId.systemDefault());
+    }
+    
+    static Trigger fixedRate(Duration period) {
+        return new FixedRateTrigger(period);
+    }
+    
+    /**
+     * Parse a schedule setting: a five-field cron expression ("0 2 * * *"), or
+     * "every" followed by a period in hours, minutes or seconds ("every 6h", "every 30m")
+     */
+    static Trigger parse(String spec) {
+        String trimmed = spec.trim();
+        if (trimmed.toLowerCase(Locale.ROOT).startsWith("every ")) {
+            String period = trimmed.substring("every ".length()).trim().toUpperCase(Locale.ROOT);
+            try {
+                return fixedRate(Duration.parse("PT" + period));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid period in schedule: " + spec, e);
+            }
+        }
+        return cron(trimmed);
+    }
+}
@@ -0,0 +1,140 @@
+package com.vitproject.util;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background writer for asynchronous logging
+ * Callers only format the entry and enqueue it into a lock-free ring buffer.
+ * A single daemon thread drains the buffer into the shared rolling log file,
+ * flushing whenever the buffer runs empty.
+ */
+class AsyncLogWriter {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    
+    private final RingBuffer<String> buffer;
+    private final LogOverflowPolicy overflowPolicy;
+    private final LogLevel dropBelow;
+    private volatile boolean consoleEcho;
+    private final RollingLogFile out;
+    private final Thread writerThread;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile boolean sleeping;
+    
+    AsyncLogWriter(RollingLogFile out, int capacity, LogOverflowPolicy overflowPolicy, LogLevel dropBelow,
+                   boolean consoleEcho) {
+        this.buffer = new RingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.dropBelow = dropBelow;
+        this.consoleEcho = consoleEcho;
+        this.out = out;
+        
+        this.writerThread = new Thread(this::drainLoop, "async-logger");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+    
+    /**
+     * Hand an entry to the writer thread, applying the overflow policy if the buffer is full
+     */
+    void enqueue(LogLevel level, String entry) {
+        if (!running) {
+            System.err.println(entry); // writer already stopped; do not lose the entry silently
+            return;
+        }
+        
+        while (!buffer.offer(entry)) {
+            if (overflowPolicy == LogOverflowPolicy.DROP
+                    || (overflowPolicy == LogOverflowPolicy.DROP_BELOW_LEVEL && !level.isAtLeast(dropBelow))) {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+            if (!running) {
+                System.err.println(entry);
+                return;
+            }
+        }
+        
+        if (sleeping) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+    
+    void setConsoleEcho(boolean consoleEcho) {
+        this.consoleEcho = consoleEcho;
+    }
+    
+    long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    int getQueuedCount() {
+        return buffer.size();
+    }
+    
+    /**
+     * Stop accepting entries and drain what is queued; the file stays open for synchronous logging
+     */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void drainLoop() {
+        try {
+            while (running || buffer.size() > 0) {
+                String entry = buffer.poll();
+                if (entry != null) {
+                    write(entry);
+                    continue;
+                }
+                
+                flush();
+                sleeping = true;
+                // Re-check after announcing we sleep, so a concurrent enqueue is not missed
+                if (buffer.size() == 0 && running) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+            }
+            
+            long lost = dropped.get();
+            if (lost > 0) {
+                write("[async-logger] " + lost + " log entries were dropped because the buffer was full");
+            }
+        } finally {
+            flush();
+        }
+    }
+    
+    private void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to flush log: " + e.getMessage());
+        }
+    }
+    
+    private void write(String entry) {
+        try {
+            out.write(entry);
+        } catch (IOException e) {
+            // Keep draining so producers using BLOCK are never stuck behind a broken file
+            System.err.println("Failed to write log: " + e.getMessage());
+        }
+        if (consoleEcho) {
+            System.out.println(entry);
+        }
+    }
+}
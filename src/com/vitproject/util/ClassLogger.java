@@ -0,0 +1,96 @@
+package com.vitproject.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Logger bound to one class, obtained with Logger.forClass and kept in a static field
+ * The class's effective level is resolved once and reused until a level
+ * changes, so a message below that level costs one volatile read and a
+ * comparison, without a stack walk.
+ */
+public final class ClassLogger {
+    private final Class<?> owner;
+    private volatile ResolvedLevel resolved;
+    
+    ClassLogger(Class<?> owner) {
+        this.owner = owner;
+    }
+    
+    /**
+     * Whether a message at this level from the owning class would be written
+     */
+    public boolean isEnabled(LogLevel level) {
+        return level.isAtLeast(effectiveLevel());
+    }
+    
+    public void info(String message) {
+        if (isEnabled(LogLevel.INFO)) {
+            Logger.write(LogLevel.INFO, message);
+        }
+    }
+    
+    public void info(Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO)) {
+            Logger.write(LogLevel.INFO, message.get());
+        }
+    }
+    
+    public void error(String message) {
+        if (isEnabled(LogLevel.ERROR)) {
+            Logger.write(LogLevel.ERROR, message);
+        }
+    }
+    
+    public void error(Supplier<String> message) {
+        if (isEnabled(LogLevel.ERROR)) {
+            Logger.write(LogLevel.ERROR, message.get());
+        }
+    }
+    
+    public void warning(String message) {
+        if (isEnabled(LogLevel.WARNING)) {
+            Logger.write(LogLevel.WARNING, message);
+        }
+    }
+    
+    public void warning(Supplier<String> message) {
+        if (isEnabled(LogLevel.WARNING)) {
+            Logger.write(LogLevel.WARNING, message.get());
+        }
+    }
+    
+    public void debug(String message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            Logger.write(LogLevel.DEBUG, message);
+        }
+    }
+    
+    public void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            Logger.write(LogLevel.DEBUG, message.get());
+        }
+    }
+    
+    private LogLevel effectiveLevel() {
+        long generation = Logger.levelGeneration();
+        ResolvedLevel current = resolved;
+        if (current == null || current.generation != generation) {
+            current = new ResolvedLevel(generation, Logger.levelFor(owner));
+            resolved = current;
+        }
+        return current.level;
+    }
+    
+    /**
+     * Level and the configuration generation it was resolved at, published together
+     */
+    private static final class ResolvedLevel {
+        private final long generation;
+        private final LogLevel level;
+        
+        private ResolvedLevel(long generation, LogLevel level) {
+            this.generation = generation;
+            this.level = level;
+        }
+    }
+}
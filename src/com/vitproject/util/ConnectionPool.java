@@ -0,0 +1,473 @@
+package com.vitproject.util;
+
+import com.vitproject.exception.DatabaseException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded JDBC connection pool
+ * Borrowed connections are proxies: calling close() hands the physical
+ * connection back to the pool, rolling back any uncommitted work first.
+ * Each physical connection keeps its own prepared statement cache.
+ */
+public class ConnectionPool {
+    private static final ClassLogger LOG = Logger.forClass(ConnectionPool.class);
+    // How long SQLite waits on a locked database before failing with SQLITE_BUSY
+    private static final int BUSY_TIMEOUT_MILLIS = 5000;
+    private static final AtomicLong CONNECTION_IDS = new AtomicLong();
+    
+    private final PoolConfig config;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> active = new HashSet<>();
+    private final ScheduledExecutorService housekeeper;
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    
+    // Guarded by lock
+    private int pending;
+    private int waiting;
+    private long totalCreated;
+    private long totalDestroyed;
+    private long borrowTimeouts;
+    private boolean closed;
+    
+    public ConnectionPool(PoolConfig config) throws DatabaseException {
+        if (config.getMinSize() > config.getMaxSize()) {
+            throw new DatabaseException("Pool minSize (" + config.getMinSize()
+                    + ") exceeds maxSize (" + config.getMaxSize() + ")");
+        }
+        this.config = config;
+        
+        for (int i = 0; i < config.getMinSize(); i++) {
+            PooledConnection connection = open();
+            lock.lock();
+            try {
+                idle.addFirst(connection);
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getHousekeepingIntervalMillis();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+        
+        LOG.info("Connection pool started: " + config);
+    }
+    
+    /**
+     * Borrow a connection, waiting up to the configured borrow timeout
+     */
+    public Connection borrow() throws DatabaseException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getBorrowTimeoutMillis());
+        
+        while (true) {
+            PooledConnection candidate = null;
+            boolean create = false;
+            
+            lock.lock();
+            try {
+                ensureOpen();
+                while (idle.isEmpty() && active.size() + pending >= config.getMaxSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        borrowTimeouts++;
+                        throw new DatabaseException("Timed out after " + config.getBorrowTimeoutMillis()
+                                + " ms waiting for a database connection (active=" + active.size()
+                                + ", waiting=" + waiting + ")");
+                    }
+                    waiting++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new DatabaseException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiting--;
+                    }
+                    ensureOpen();
+                }
+                
+                if (!idle.isEmpty()) {
+                    candidate = idle.pollFirst();
+                    active.add(candidate);
+                } else {
+                    pending++;
+                    create = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+            
+            if (create) {
+                // Open outside the lock so other borrowers are not blocked on driver I/O
+                try {
+                    candidate = open();
+                } finally {
+                    lock.lock();
+                    try {
+                        pending--;
+                        if (candidate != null) {
+                            active.add(candidate);
+                        } else {
+                            available.signal();
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            } else if (config.isValidateOnBorrow() && !candidate.isValid()) {
+                LOG.warning("Discarding invalid pooled connection #" + candidate.id);
+                discard(candidate);
+                continue;
+            }
+            
+            return candidate.lease();
+        }
+    }
+    
+    /**
+     * Snapshot of active, idle and waiting counts
+     */
+    public PoolStats getStats() {
+        lock.lock();
+        try {
+            return new PoolStats(active.size(), idle.size(), waiting, totalCreated, totalDestroyed, borrowTimeouts,
+                    statementCacheHits.get(), statementCacheMisses.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Close all idle connections and refuse further borrows.
+     * Connections still on loan are closed as they are returned.
+     */
+    public void close() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        
+        housekeeper.shutdownNow();
+        toClose.forEach(this::destroy);
+        LOG.info("Connection pool closed: " + getStats());
+    }
+    
+    private void ensureOpen() throws DatabaseException {
+        if (closed) {
+            throw new DatabaseException("Connection pool is closed");
+        }
+    }
+    
+    private PooledConnection open() throws DatabaseException {
+        try {
+            Connection physical = DriverManager.getConnection(config.getUrl());
+            if (config.getUrl().startsWith("jdbc:sqlite:")) {
+                // Must run before auto-commit is disabled, outside any transaction
+                try (Statement stmt = physical.createStatement()) {
+                    stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS);
+                    stmt.execute("PRAGMA journal_mode = WAL");
+                }
+            }
+            physical.setAutoCommit(false); // For transaction management
+            
+            lock.lock();
+            try {
+                totalCreated++;
+            } finally {
+                lock.unlock();
+            }
+            return new PooledConnection(physical);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to connect to database: " + e.getMessage(), e);
+        }
+    }
+    
+    private void release(PooledConnection connection) {
+        boolean healthy = connection.reset();
+        
+        lock.lock();
+        try {
+            active.remove(connection);
+            if (healthy && !closed) {
+                connection.lastReturnedAt = System.currentTimeMillis();
+                idle.addFirst(connection);
+                available.signal();
+                return;
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        destroy(connection);
+    }
+    
+    private void discard(PooledConnection connection) {
+        lock.lock();
+        try {
+            active.remove(connection);
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        destroy(connection);
+    }
+    
+    private void destroy(PooledConnection connection) {
+        if (connection.statementCache != null) {
+            connection.statementCache.closeAll();
+        }
+        try {
+            connection.physical.close();
+        } catch (SQLException e) {
+            LOG.warning("Error closing pooled connection #" + connection.id + ": " + e.getMessage());
+        }
+        lock.lock();
+        try {
+            totalDestroyed++;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Periodic maintenance: leak detection, idle eviction and topping up to minSize
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> leaked = new ArrayList<>();
+        List<PooledConnection> evicted = new ArrayList<>();
+        int missing;
+        
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            
+            long leakThreshold = config.getLeakDetectionThresholdMillis();
+            if (leakThreshold > 0) {
+                for (PooledConnection connection : active) {
+                    if (!connection.leakReported && now - connection.borrowedAt > leakThreshold) {
+                        connection.leakReported = true;
+                        leaked.add(connection);
+                    }
+                }
+            }
+            
+            // Oldest idle connections sit at the tail of the deque
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && idle.size() + active.size() > config.getMinSize()) {
+                PooledConnection connection = it.next();
+                if (now - connection.lastReturnedAt > config.getIdleTimeoutMillis()) {
+                    it.remove();
+                    evicted.add(connection);
+                }
+            }
+            
+            missing = config.getMinSize() - (idle.size() + active.size() + pending);
+            pending += Math.max(0, missing);
+        } finally {
+            lock.unlock();
+        }
+        
+        for (PooledConnection connection : leaked) {
+            LOG.warning("Possible connection leak: connection #" + connection.id + " borrowed "
+                    + (now - connection.borrowedAt) + " ms ago by " + describe(connection.borrowSite));
+        }
+        evicted.forEach(this::destroy);
+        
+        for (int i = 0; i < missing; i++) {
+            PooledConnection connection = null;
+            try {
+                connection = open();
+            } catch (DatabaseException e) {
+                LOG.error("Failed to replenish connection pool: " + e.getMessage());
+            } finally {
+                lock.lock();
+                try {
+                    pending--;
+                    if (connection != null) {
+                        connection.lastReturnedAt = System.currentTimeMillis();
+                        idle.addLast(connection);
+                        available.signal();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+    
+    private static String describe(Throwable borrowSite) {
+        if (borrowSite == null) {
+            return "unknown caller";
+        }
+        for (StackTraceElement frame : borrowSite.getStackTrace()) {
+            String className = frame.getClassName();
+            if (!className.startsWith(ConnectionPool.class.getName())
+                    && !className.equals(DatabaseConnection.class.getName())) {
+                return frame.toString();
+            }
+        }
+        return "unknown caller";
+    }
+    
+    /**
+     * A physical connection plus the bookkeeping the pool needs for it
+     */
+    private class PooledConnection {
+        private final long id = CONNECTION_IDS.incrementAndGet();
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private volatile long borrowedAt;
+        private volatile long lastReturnedAt = System.currentTimeMillis();
+        private volatile Throwable borrowSite;
+        private volatile boolean leakReported;
+        // True once a statement was created since the last commit/rollback
+        private volatile boolean dirty;
+        
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = config.getStatementCacheSize() > 0
+                    ? new StatementCache(config.getStatementCacheSize(), statementCacheHits, statementCacheMisses)
+                    : null;
+        }
+        
+        private boolean isValid() {
+            try {
+                return physical.isValid(config.getValidationTimeoutSeconds());
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+        
+        private Connection lease() {
+            borrowedAt = System.currentTimeMillis();
+            leakReported = false;
+            borrowSite = config.getLeakDetectionThresholdMillis() > 0 ? new Throwable("borrow site") : null;
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] {Connection.class},
+                    new ConnectionHandle(this));
+        }
+        
+        /**
+         * Roll back unfinished work and restore defaults before going back to the pool
+         */
+        private boolean reset() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (physical.getAutoCommit()) {
+                    physical.setAutoCommit(false);
+                } else if (dirty) {
+                    physical.rollback();
+                }
+                dirty = false;
+                return true;
+            } catch (SQLException e) {
+                LOG.warning("Failed to reset pooled connection #" + id + ": " + e.getMessage());
+                return false;
+            }
+        }
+    }
+    
+    /**
+     * Per-loan view of a pooled connection; close() returns it instead of closing it
+     */
+    private class ConnectionHandle implements InvocationHandler {
+        private final PooledConnection owner;
+        private boolean closed;
+        
+        private ConnectionHandle(PooledConnection owner) {
+            this.owner = owner;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(owner);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || owner.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection#" + owner.id;
+                default:
+                    break;
+            }
+            
+            if (closed) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (name.startsWith("prepare") || name.equals("createStatement")) {
+                owner.dirty = true;
+            }
+            if (name.equals("prepareStatement") && owner.statementCache != null) {
+                Class<?>[] params = method.getParameterTypes();
+                if (params.length == 1) {
+                    return owner.statementCache.prepare(owner.physical, (String) args[0]);
+                }
+                if (params.length == 2 && params[1] == int.class) {
+                    return owner.statementCache.prepare(owner.physical, (String) args[0], (Integer) args[1]);
+                }
+            }
+            
+            try {
+                Object result = method.invoke(owner.physical, args);
+                if ((name.equals("commit") || name.equals("rollback")) && method.getParameterCount() == 0) {
+                    owner.dirty = false;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
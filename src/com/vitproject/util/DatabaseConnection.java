@@ -3,62 +3,96 @@ package com.vitproject.util;
 import com.vitproject.exception.DatabaseException;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
  * Database connection utility class
  * Demonstrates JDBC API usage and resource management
+ *
+ * Connections come from a shared {@link ConnectionPool}. Closing a borrowed
+ * connection (e.g. at the end of try-with-resources) returns it to the pool,
+ * and any work that was not committed is rolled back at that point.
  */
 public class DatabaseConnection {
-    private static final String DB_URL = "jdbc:sqlite:student_management.db";
-    private static Connection connection = null;
+    private static volatile ConnectionPool pool = null;
+    private static PoolConfig poolConfig = PoolConfig.fromSystemProperties();
     
     // Private constructor to prevent instantiation (Singleton pattern)
     private DatabaseConnection() {}
     
+    /**
+     * Override the pool configuration; must be called before the first connection is borrowed
+     */
+    public static synchronized void configure(PoolConfig config) {
+        if (pool != null) {
+            throw new IllegalStateException("Connection pool is already running");
+        }
+        poolConfig = config;
+    }
+    
     /**
      * Get database connection
-     * Demonstrates exception handling with try-catch
+     * Inside a TransactionTemplate scope this is the scope's shared connection.
      */
     public static Connection getConnection() throws DatabaseException {
-        try {
-            if (connection == null || connection.isClosed()) {
-                // Load SQLite JDBC driver
-                Class.forName("org.sqlite.JDBC");
-                connection = DriverManager.getConnection(DB_URL);
-                connection.setAutoCommit(false); // For transaction management
-            }
-            return connection;
-        } catch (ClassNotFoundException e) {
-            throw new DatabaseException("JDBC Driver not found: " + e.getMessage(), e);
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to connect to database: " + e.getMessage(), e);
+        Connection transactional = TransactionTemplate.currentConnection();
+        if (transactional != null) {
+            return transactional;
         }
+        return getPool().borrow();
     }
     
     /**
-     * Close database connection
+     * Current pool usage (active, idle and waiting borrowers)
      */
-    public static void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                connection = null;
+    public static PoolStats getPoolStats() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStats() : new PoolStats(0, 0, 0, 0, 0, 0, 0, 0);
+    }
+    
+    /**
+     * Most connections the pool will hand out at once
+     */
+    public static synchronized int getMaxPoolSize() {
+        return poolConfig.getMaxSize();
+    }
+    
+    private static ConnectionPool getPool() throws DatabaseException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConnection.class) {
+                current = pool;
+                if (current == null) {
+                    try {
+                        // Load SQLite JDBC driver
+                        Class.forName("org.sqlite.JDBC");
+                    } catch (ClassNotFoundException e) {
+                        throw new DatabaseException("JDBC Driver not found: " + e.getMessage(), e);
+                    }
+                    current = new ConnectionPool(poolConfig);
+                    pool = current;
+                }
             }
-        } catch (SQLException e) {
-            System.err.println("Error closing database connection: " + e.getMessage());
+        }
+        return current;
+    }
+    
+    /**
+     * Close the connection pool
+     */
+    public static synchronized void closeConnection() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
         }
     }
     
     /**
      * Commit transaction
      */
-    public static void commit() throws DatabaseException {
+    public static void commit(Connection connection) throws DatabaseException {
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.commit();
-            }
+            connection.commit();
         } catch (SQLException e) {
             throw new DatabaseException("Failed to commit transaction: " + e.getMessage(), e);
         }
@@ -67,14 +101,11 @@ public class DatabaseConnection {
     /**
      * Rollback transaction
      */
-    public static void rollback() throws DatabaseException {
+    public static void rollback(Connection connection) throws DatabaseException {
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.rollback();
-            }
+            connection.rollback();
         } catch (SQLException e) {
             throw new DatabaseException("Failed to rollback transaction: " + e.getMessage(), e);
         }
     }
 }
-
@@ -0,0 +1,15 @@
+package com.vitproject.util;
+
+/**
+ * Log levels in increasing order of severity
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARNING,
+    ERROR;
+    
+    public boolean isAtLeast(LogLevel other) {
+        return compareTo(other) >= 0;
+    }
+}
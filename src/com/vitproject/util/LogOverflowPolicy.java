@@ -0,0 +1,13 @@
+package com.vitproject.util;
+
+/**
+ * What an asynchronous logger does when its ring buffer is full
+ */
+public enum LogOverflowPolicy {
+    /** Caller waits until the writer thread frees a slot */
+    BLOCK,
+    /** Entry is discarded and counted */
+    DROP,
+    /** Entries below the configured level are discarded; more severe ones block */
+    DROP_BELOW_LEVEL
+}
@@ -0,0 +1,52 @@
+package com.vitproject.util;
+
+/**
+ * When the log file is rolled over and how many rolled files are kept
+ */
+public class LogRotationPolicy {
+    private final long maxSizeBytes;
+    private final boolean daily;
+    private final int maxHistory;
+    
+    /**
+     * @param maxSizeBytes roll when the file would grow past this size (0 disables size-based rolling)
+     * @param daily roll when the date changes
+     * @param maxHistory number of rolled files to keep (0 keeps all)
+     */
+    public LogRotationPolicy(long maxSizeBytes, boolean daily, int maxHistory) {
+        this.maxSizeBytes = maxSizeBytes;
+        this.daily = daily;
+        this.maxHistory = maxHistory;
+    }
+    
+    /**
+     * Policy from -Dlog.rotation.maxSizeMb, -Dlog.rotation.daily and -Dlog.rotation.maxHistory
+     */
+    public static LogRotationPolicy fromSystemProperties() {
+        long maxSizeMb = Long.getLong("log.rotation.maxSizeMb", 10);
+        boolean daily = Boolean.parseBoolean(System.getProperty("log.rotation.daily", "true"));
+        int maxHistory = Integer.getInteger("log.rotation.maxHistory", 14);
+        return new LogRotationPolicy(maxSizeMb * 1024 * 1024, daily, maxHistory);
+    }
+    
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+    
+    public boolean isDaily() {
+        return daily;
+    }
+    
+    public int getMaxHistory() {
+        return maxHistory;
+    }
+    
+    @Override
+    public String toString() {
+        return "LogRotationPolicy{" +
+                "maxSizeBytes=" + maxSizeBytes +
+                ", daily=" + daily +
+                ", maxHistory=" + maxHistory +
+                '}';
+    }
+}
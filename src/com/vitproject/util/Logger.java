@@ -5,63 +5,311 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Logger utility class for logging operations
  * Demonstrates file I/O and exception handling
+ *
+ * By default entries are written synchronously on the caller's thread.
+ * After enableAsync(...) callers only enqueue entries and a background
+ * thread writes them to a persistently open log file.
+ *
+ * The log file is rolled by size and date (see LogRotationPolicy); rolled
+ * files are gzip-compressed in the background and only the newest are kept.
+ *
+ * Levels can be set globally (-Dlog.level=INFO) and per package or class
+ * (-Dlog.level.com.vitproject.dao=WARNING); the most specific prefix wins.
+ * Messages below the effective level are discarded before formatting, and
+ * the Supplier overloads skip building the message text altogether.
+ *
+ * Classes log through a ClassLogger from forClass(...), held in a static
+ * field, which resolves its level once per class. The static methods here
+ * find the calling class with a stack walk whenever per-package levels are
+ * set, so they suit one-off messages only.
  */
 public class Logger {
     private static final Path LOG_FILE = Paths.get("logs", "application.log");
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String LEVEL_PROPERTY_PREFIX = "log.level.";
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    
+    private static final RollingLogFile logFile = openLogFile();
+    
+    private static volatile AsyncLogWriter asyncWriter = null;
+    private static volatile LogLevel rootLevel = SystemProperties.getEnum("log.level", LogLevel.class, LogLevel.DEBUG);
+    private static volatile boolean consoleEcho = Boolean.parseBoolean(System.getProperty("log.console", "true"));
+    private static final Map<String, LogLevel> packageLevels = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, LogLevel> effectiveLevels = new ConcurrentHashMap<>();
+    // Lowest level any logger accepts; anything below is rejected without a caller lookup
+    private static volatile LogLevel lowestEnabled = rootLevel;
+    // Bumped on every level change so ClassLoggers re-resolve their level
+    private static volatile long levelGeneration;
     
     static {
-        try {
-            FileManager.createDirectoryIfNotExists(LOG_FILE.getParent());
-        } catch (IOException e) {
-            System.err.println("Failed to create log directory: " + e.getMessage());
+        for (String key : System.getProperties().stringPropertyNames()) {
+            LogLevel level = key.startsWith(LEVEL_PROPERTY_PREFIX)
+                    ? SystemProperties.getEnum(key, LogLevel.class, null)
+                    : null;
+            if (level != null) {
+                setLevel(key.substring(LEVEL_PROPERTY_PREFIX.length()), level);
+            }
+        }
+    }
+    
+    /**
+     * Logger for one class; keep it in a static final field of that class
+     */
+    public static ClassLogger forClass(Class<?> owner) {
+        return new ClassLogger(owner);
+    }
+    
+    /**
+     * Switch to asynchronous logging
+     * @param capacity ring buffer size (rounded up to a power of two)
+     * @param overflowPolicy what to do when the buffer is full
+     * @param dropBelow for DROP_BELOW_LEVEL, entries below this level are dropped when full
+     */
+    public static synchronized void enableAsync(int capacity, LogOverflowPolicy overflowPolicy, LogLevel dropBelow) {
+        if (asyncWriter != null) {
+            return;
+        }
+        if (logFile == null) {
+            System.err.println("Log file is not available, staying synchronous");
+            return;
+        }
+        asyncWriter = new AsyncLogWriter(logFile, capacity, overflowPolicy, dropBelow, consoleEcho);
+        Runtime.getRuntime().addShutdownHook(new Thread(Logger::shutdown, "logger-shutdown"));
+    }
+    
+    /**
+     * Async mode configured from -Dlog.async.capacity, -Dlog.async.overflow and -Dlog.async.dropBelow
+     */
+    public static void enableAsyncFromSystemProperties() {
+        int capacity = Integer.getInteger("log.async.capacity", 8192);
+        LogOverflowPolicy policy = SystemProperties.getEnum("log.async.overflow", LogOverflowPolicy.class,
+                LogOverflowPolicy.DROP_BELOW_LEVEL);
+        LogLevel dropBelow = SystemProperties.getEnum("log.async.dropBelow", LogLevel.class, LogLevel.WARNING);
+        enableAsync(capacity, policy, dropBelow);
+    }
+    
+    /**
+     * Flush queued entries and return to synchronous logging
+     */
+    public static synchronized void shutdown() {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            asyncWriter = null;
+            writer.shutdown();
         }
     }
     
+    /**
+     * Entries discarded by the async overflow policy so far
+     */
+    public static long getDroppedCount() {
+        AsyncLogWriter writer = asyncWriter;
+        return writer != null ? writer.getDroppedCount() : 0;
+    }
+    
+    /**
+     * Set the minimum level for all loggers without a more specific setting
+     */
+    public static synchronized void setRootLevel(LogLevel level) {
+        rootLevel = level;
+        levelsChanged();
+    }
+    
+    /**
+     * Set the minimum level for a package or class name prefix, e.g. "com.vitproject.dao"
+     */
+    public static synchronized void setLevel(String packageName, LogLevel level) {
+        packageLevels.put(packageName, level);
+        levelsChanged();
+    }
+    
+    /**
+     * Turn the echo of every entry to System.out on or off
+     */
+    public static void setConsoleEcho(boolean enabled) {
+        consoleEcho = enabled;
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.setConsoleEcho(enabled);
+        }
+    }
+    
+    /**
+     * Whether a message at this level from the calling class would be written
+     */
+    public static boolean isEnabled(LogLevel level) {
+        if (!level.isAtLeast(lowestEnabled)) {
+            return false;
+        }
+        if (packageLevels.isEmpty()) {
+            return level.isAtLeast(rootLevel);
+        }
+        return level.isAtLeast(levelForCaller());
+    }
+    
     /**
      * Log info message
      */
     public static void info(String message) {
-        log("INFO", message);
+        if (isEnabled(LogLevel.INFO)) {
+            write(LogLevel.INFO, message);
+        }
+    }
+    
+    /**
+     * Log info message built only if INFO is enabled
+     */
+    public static void info(Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO)) {
+            write(LogLevel.INFO, message.get());
+        }
     }
     
     /**
      * Log error message
      */
     public static void error(String message) {
-        log("ERROR", message);
+        if (isEnabled(LogLevel.ERROR)) {
+            write(LogLevel.ERROR, message);
+        }
+    }
+    
+    /**
+     * Log error message built only if ERROR is enabled
+     */
+    public static void error(Supplier<String> message) {
+        if (isEnabled(LogLevel.ERROR)) {
+            write(LogLevel.ERROR, message.get());
+        }
     }
     
     /**
      * Log warning message
      */
     public static void warning(String message) {
-        log("WARNING", message);
+        if (isEnabled(LogLevel.WARNING)) {
+            write(LogLevel.WARNING, message);
+        }
+    }
+    
+    /**
+     * Log warning message built only if WARNING is enabled
+     */
+    public static void warning(Supplier<String> message) {
+        if (isEnabled(LogLevel.WARNING)) {
+            write(LogLevel.WARNING, message.get());
+        }
     }
     
     /**
      * Log debug message
      */
     public static void debug(String message) {
-        log("DEBUG", message);
+        if (isEnabled(LogLevel.DEBUG)) {
+            write(LogLevel.DEBUG, message);
+        }
+    }
+    
+    /**
+     * Log debug message built only if DEBUG is enabled
+     */
+    public static void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            write(LogLevel.DEBUG, message.get());
+        }
     }
     
     /**
-     * Private method to write log entry
+     * Write a log entry whose level has already been checked
      */
-    private static void log(String level, String message) {
+    static void write(LogLevel level, String message) {
+        String logEntry = "[" + LocalDateTime.now().format(FORMATTER) + "] [" + level + "] " + message;
+        
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.enqueue(level, logEntry);
+            return;
+        }
+        
         try {
-            String logEntry = String.format("[%s] [%s] %s", 
-                    LocalDateTime.now().format(FORMATTER), level, message);
-            FileManager.appendLine(LOG_FILE, logEntry);
-            System.out.println(logEntry); // Also print to console
+            if (logFile != null) {
+                logFile.write(logEntry);
+                logFile.flush();
+            } else {
+                FileManager.appendLine(LOG_FILE, logEntry);
+            }
+            if (consoleEcho) {
+                System.out.println(logEntry); // Also print to console
+            }
         } catch (IOException e) {
             System.err.println("Failed to write log: " + e.getMessage());
         }
     }
+    
+    private static RollingLogFile openLogFile() {
+        try {
+            return new RollingLogFile(LOG_FILE, LogRotationPolicy.fromSystemProperties());
+        } catch (IOException e) {
+            System.err.println("Failed to open log file, rotation disabled: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    private static void levelsChanged() {
+        effectiveLevels.clear();
+        LogLevel lowest = rootLevel;
+        for (LogLevel level : packageLevels.values()) {
+            if (!level.isAtLeast(lowest)) {
+                lowest = level;
+            }
+        }
+        lowestEnabled = lowest;
+        levelGeneration++;
+    }
+    
+    static long levelGeneration() {
+        return levelGeneration;
+    }
+    
+    /**
+     * Effective level of a class: the most specific configured prefix, or the root level
+     */
+    static LogLevel levelFor(Class<?> type) {
+        return packageLevels.isEmpty() ? rootLevel : resolveLevel(type);
+    }
+    
+    private static LogLevel levelForCaller() {
+        Optional<Class<?>> caller = WALKER.walk(frames -> frames
+                .<Class<?>>map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(type -> type != Logger.class)
+                .findFirst());
+        if (caller.isEmpty()) {
+            return rootLevel;
+        }
+        return effectiveLevels.computeIfAbsent(caller.get(), Logger::resolveLevel);
+    }
+    
+    /**
+     * Most specific configured prefix of the class name, falling back to the root level
+     */
+    private static LogLevel resolveLevel(Class<?> type) {
+        String name = type.getName();
+        String bestMatch = null;
+        for (String prefix : packageLevels.keySet()) {
+            boolean matches = name.equals(prefix) || name.startsWith(prefix + ".") || name.startsWith(prefix + "$");
+            if (matches && (bestMatch == null || prefix.length() > bestMatch.length())) {
+                bestMatch = prefix;
+            }
+        }
+        return bestMatch != null ? packageLevels.get(bestMatch) : rootLevel;
+    }
 }
 
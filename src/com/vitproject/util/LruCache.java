@@ -0,0 +1,117 @@
+package com.vitproject.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory cache with least-recently-used eviction and optional TTL
+ *
+ * Every invalidation advances a generation counter. A reader that loads a
+ * value from the database takes the generation first and stores the value
+ * with put(key, value, generation); if an invalidation happened while it was
+ * loading, the put is ignored so a stale row is never cached.
+ *
+ * @param <K> key type
+ * @param <V> value type; callers should store copies of mutable objects
+ */
+public class LruCache<K, V> {
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    /**
+     * @param name label used in statistics
+     * @param maxSize maximum number of entries
+     * @param ttlMillis time an entry stays valid after it is stored (0 keeps entries until evicted)
+     */
+    public LruCache(String name, int maxSize, long ttlMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+    
+    /**
+     * Cached value, or null if absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.isExpired()) {
+            entries.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+    
+    /**
+     * Generation to pass to put(key, value, generation) after loading a value
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+    
+    /**
+     * Store a value loaded at the given generation; ignored if the cache was invalidated since
+     */
+    public synchronized void put(K key, V value, long loadedAtGeneration) {
+        if (loadedAtGeneration != generation) {
+            return;
+        }
+        long expiresAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+        entries.put(key, new Entry<>(value, expiresAt));
+        
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+    
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+    
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    public synchronized CacheStats getStats() {
+        return new CacheStats(name, entries.size(), maxSize, hits, misses, evictions);
+    }
+    
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+        
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
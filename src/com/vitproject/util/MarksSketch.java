@@ -0,0 +1,151 @@
+package com.vitproject.util;
+
+/**
+ * Mergeable distribution sketch for marks on the 0-100 scale
+ *
+ * Marks are counted in fixed 0.1-mark bins, so memory is the same 1001
+ * counters however many values are added, and quantiles are exact to the
+ * bin width. Mean and variance are kept with Welford's update. Two sketches
+ * built on separate partitions combine with merge(), which adds the bins and
+ * joins the moments with Chan's parallel formula.
+ *
+ * Not thread-safe; build one sketch per thread and merge them.
+ */
+public class MarksSketch {
+    public static final double MIN_MARKS = 0.0;
+    public static final double MAX_MARKS = 100.0;
+    private static final int BINS_PER_MARK = 10;
+    private static final int BIN_COUNT = (int) (MAX_MARKS * BINS_PER_MARK) + 1;
+    
+    private final long[] bins = new long[BIN_COUNT];
+    private long count;
+    private double mean;
+    private double m2;
+    private double minimum = Double.POSITIVE_INFINITY;
+    private double maximum = Double.NEGATIVE_INFINITY;
+    
+    /**
+     * Add one value; values outside 0-100 are clamped into the end bins
+     */
+    public void add(double marks) {
+        count++;
+        double delta = marks - mean;
+        mean += delta / count;
+        m2 += delta * (marks - mean);
+        minimum = Math.min(minimum, marks);
+        maximum = Math.max(maximum, marks);
+        bins[binOf(marks)]++;
+    }
+    
+    /**
+     * Fold another sketch into this one
+     * @return this sketch
+     */
+    public MarksSketch merge(MarksSketch other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            System.arraycopy(other.bins, 0, bins, 0, BIN_COUNT);
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            minimum = other.minimum;
+            maximum = other.maximum;
+            return this;
+        }
+        
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        minimum = Math.min(minimum, other.minimum);
+        maximum = Math.max(maximum, other.maximum);
+        for (int i = 0; i < BIN_COUNT; i++) {
+            bins[i] += other.bins[i];
+        }
+        return this;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public boolean isEmpty() {
+        return count == 0;
+    }
+    
+    public double getMean() {
+        return count == 0 ? 0.0 : mean;
+    }
+    
+    /**
+     * Population standard deviation
+     */
+    public double getStandardDeviation() {
+        return count == 0 ? 0.0 : Math.sqrt(m2 / count);
+    }
+    
+    public double getMinimum() {
+        return count == 0 ? 0.0 : minimum;
+    }
+    
+    public double getMaximum() {
+        return count == 0 ? 0.0 : maximum;
+    }
+    
+    public double getMedian() {
+        return quantile(0.5);
+    }
+    
+    /**
+     * Nearest-rank quantile, accurate to 0.1 marks
+     * @param q fraction between 0 and 1, e.g. 0.9 for the 90th percentile
+     */
+    public double quantile(double q) {
+        if (q < 0.0 || q > 1.0) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        if (count == 0) {
+            return 0.0;
+        }
+        
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int i = 0; i < BIN_COUNT; i++) {
+            seen += bins[i];
+            if (seen >= rank) {
+                double value = (double) i / BINS_PER_MARK;
+                return Math.min(maximum, Math.max(minimum, value));
+            }
+        }
+        return maximum;
+    }
+    
+    /**
+     * Counts per bucket of the given width over 0-100
+     * Bucket k covers [k * width, (k + 1) * width); the last one also includes 100.
+     */
+    public long[] histogram(double bucketWidth) {
+        if (bucketWidth <= 0 || bucketWidth > MAX_MARKS) {
+            throw new IllegalArgumentException("Bucket width must be between 0 and 100: " + bucketWidth);
+        }
+        
+        int bucketCount = (int) Math.ceil(MAX_MARKS / bucketWidth);
+        long[] buckets = new long[bucketCount];
+        for (int i = 0; i < BIN_COUNT; i++) {
+            if (bins[i] > 0) {
+                // The epsilon keeps a bin on a bucket boundary (e.g. 20.0) out of the bucket below it
+                int bucket = (int) Math.floor((double) i / BINS_PER_MARK / bucketWidth + 1e-9);
+                buckets[Math.min(bucket, bucketCount - 1)] += bins[i];
+            }
+        }
+        return buckets;
+    }
+    
+    private static int binOf(double marks) {
+        long bin = Math.round(marks * BINS_PER_MARK);
+        return (int) Math.max(0, Math.min(BIN_COUNT - 1, bin));
+    }
+}
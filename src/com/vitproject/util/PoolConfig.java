@@ -0,0 +1,158 @@
+package com.vitproject.util;
+
+/**
+ * Configuration for the JDBC connection pool
+ * Defaults can be overridden with -Ddb.pool.* system properties
+ */
+public class PoolConfig {
+    private String url;
+    private int minSize;
+    private int maxSize;
+    private long borrowTimeoutMillis;
+    private boolean validateOnBorrow;
+    private int validationTimeoutSeconds;
+    private long idleTimeoutMillis;
+    private long leakDetectionThresholdMillis;
+    private long housekeepingIntervalMillis;
+    private int statementCacheSize;
+    
+    // Default constructor
+    public PoolConfig() {
+        this.url = "jdbc:sqlite:student_management.db";
+        this.minSize = 1;
+        this.maxSize = 8;
+        this.borrowTimeoutMillis = 10_000;
+        this.validateOnBorrow = true;
+        this.validationTimeoutSeconds = 2;
+        this.idleTimeoutMillis = 5 * 60_000;
+        this.leakDetectionThresholdMillis = 0; // off: each borrow would capture a stack trace
+        this.housekeepingIntervalMillis = 30_000;
+        this.statementCacheSize = 64;
+    }
+    
+    /**
+     * Build a configuration from the defaults and any db.pool.* system properties
+     */
+    public static PoolConfig fromSystemProperties() {
+        PoolConfig config = new PoolConfig();
+        config.setUrl(System.getProperty("db.url", config.getUrl()));
+        config.setMinSize(Integer.getInteger("db.pool.minSize", config.getMinSize()));
+        config.setMaxSize(Integer.getInteger("db.pool.maxSize", config.getMaxSize()));
+        config.setBorrowTimeoutMillis(Long.getLong("db.pool.borrowTimeoutMillis", config.getBorrowTimeoutMillis()));
+        config.setValidateOnBorrow(Boolean.parseBoolean(
+                System.getProperty("db.pool.validateOnBorrow", String.valueOf(config.isValidateOnBorrow()))));
+        config.setIdleTimeoutMillis(Long.getLong("db.pool.idleTimeoutMillis", config.getIdleTimeoutMillis()));
+        config.setLeakDetectionThresholdMillis(
+                Long.getLong("db.pool.leakDetectionThresholdMillis", config.getLeakDetectionThresholdMillis()));
+        config.setStatementCacheSize(Integer.getInteger("db.pool.statementCacheSize", config.getStatementCacheSize()));
+        return config;
+    }
+    
+    // Getters and Setters
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(String url) {
+        this.url = url;
+    }
+    
+    public int getMinSize() {
+        return minSize;
+    }
+    
+    public void setMinSize(int minSize) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException("minSize must not be negative");
+        }
+        this.minSize = minSize;
+    }
+    
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+    
+    public long getBorrowTimeoutMillis() {
+        return borrowTimeoutMillis;
+    }
+    
+    public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+    
+    public boolean isValidateOnBorrow() {
+        return validateOnBorrow;
+    }
+    
+    public void setValidateOnBorrow(boolean validateOnBorrow) {
+        this.validateOnBorrow = validateOnBorrow;
+    }
+    
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+    
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+    
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+    
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+    
+    /**
+     * Connections held longer than this are reported as possible leaks (0, the default, disables)
+     * When enabled, every borrow records its stack trace, so turn it on only to hunt a leak.
+     */
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+    
+    public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+    }
+    
+    public long getHousekeepingIntervalMillis() {
+        return housekeepingIntervalMillis;
+    }
+    
+    public void setHousekeepingIntervalMillis(long housekeepingIntervalMillis) {
+        this.housekeepingIntervalMillis = housekeepingIntervalMillis;
+    }
+    
+    /**
+     * Prepared statements cached per connection (0 disables caching)
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+    
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+    
+    @Override
+    public String toString() {
+        return "PoolConfig{" +
+                "url='" + url + '\'' +
+                ", minSize=" + minSize +
+                ", maxSize=" + maxSize +
+                ", borrowTimeoutMillis=" + borrowTimeoutMillis +
+                ", validateOnBorrow=" + validateOnBorrow +
+                ", idleTimeoutMillis=" + idleTimeoutMillis +
+                ", leakDetectionThresholdMillis=" + leakDetectionThresholdMillis +
+                ", statementCacheSize=" + statementCacheSize +
+                '}';
+    }
+}
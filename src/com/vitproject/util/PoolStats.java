@@ -0,0 +1,82 @@
+package com.vitproject.util;
+
+/**
+ * Point-in-time snapshot of connection pool usage
+ */
+public class PoolStats {
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final long totalCreated;
+    private final long totalDestroyed;
+    private final long borrowTimeouts;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+    
+    public PoolStats(int active, int idle, int waiting, long totalCreated, long totalDestroyed, long borrowTimeouts,
+                     long statementCacheHits, long statementCacheMisses) {
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.totalCreated = totalCreated;
+        this.totalDestroyed = totalDestroyed;
+        this.borrowTimeouts = borrowTimeouts;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+    
+    public int getActive() {
+        return active;
+    }
+    
+    public int getIdle() {
+        return idle;
+    }
+    
+    public int getWaiting() {
+        return waiting;
+    }
+    
+    public int getTotal() {
+        return active + idle;
+    }
+    
+    public long getTotalCreated() {
+        return totalCreated;
+    }
+    
+    public long getTotalDestroyed() {
+        return totalDestroyed;
+    }
+    
+    public long getBorrowTimeouts() {
+        return borrowTimeouts;
+    }
+    
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+    
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+    
+    public double getStatementCacheHitRatio() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+    }
+    
+    @Override
+    public String toString() {
+        return "PoolStats{" +
+                "active=" + active +
+                ", idle=" + idle +
+                ", waiting=" + waiting +
+                ", totalCreated=" + totalCreated +
+                ", totalDestroyed=" + totalDestroyed +
+                ", borrowTimeouts=" + borrowTimeouts +
+                ", statementCacheHits=" + statementCacheHits +
+                ", statementCacheMisses=" + statementCacheMisses +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package com.vitproject.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming sink for report files
+ * Lines go through a fixed-size buffer straight to the file (optionally
+ * gzip-compressed on the fly), so memory use does not grow with the size of
+ * the report. Use with try-with-resources; close() flushes and finishes the file.
+ */
+public class ReportWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final Path file;
+    private final Writer out;
+    private long lineCount;
+    
+    private ReportWriter(Path file, Writer out) {
+        this.file = file;
+        this.out = out;
+    }
+    
+    /**
+     * Open a plain text report, replacing any existing file
+     */
+    public static ReportWriter open(Path file) throws IOException {
+        return open(file, false);
+    }
+    
+    /**
+     * Open a report, gzip-compressing it while writing if requested
+     */
+    public static ReportWriter open(Path file, boolean gzip) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        OutputStream stream = Channels.newOutputStream(channel);
+        try {
+            if (gzip) {
+                stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+            }
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return new ReportWriter(file, writer);
+    }
+    
+    /**
+     * Write one line
+     */
+    public ReportWriter line(String text) throws IOException {
+        out.write(text);
+        out.write(System.lineSeparator());
+        lineCount++;
+        return this;
+    }
+    
+    /**
+     * Write an empty line
+     */
+    public ReportWriter line() throws IOException {
+        return line("");
+    }
+    
+    /**
+     * Write one line built with String.format
+     */
+    public ReportWriter format(String format, Object... args) throws IOException {
+        return line(String.format(format, args));
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    public long getLineCount() {
+        return lineCount;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
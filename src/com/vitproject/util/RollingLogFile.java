@@ -0,0 +1,200 @@
+package com.vitproject.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only log file with size- and date-based rotation
+ * The active file is renamed atomically to application-<date>-<time>.log and
+ * a fresh file is opened; gzip compression of the rolled file and pruning of
+ * old files run on a background thread so writers never wait for them.
+ */
+class RollingLogFile {
+    private static final DateTimeFormatter ROLL_SUFFIX = DateTimeFormatter.ofPattern("yyyy-MM-dd-HHmmss");
+    private static final ExecutorService COMPRESSOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-compressor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // After a failed roll, keep appending to the active file this long before trying again
+    private static final long ROLL_RETRY_MILLIS = 60_000;
+    
+    private final Path file;
+    private final String baseName;
+    private final LogRotationPolicy policy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Writer out;
+    private long size;
+    private long nextDayStartMillis;
+    private long nextRollAttemptMillis;
+    
+    RollingLogFile(Path file, LogRotationPolicy policy) throws IOException {
+        this.file = file;
+        String name = file.getFileName().toString();
+        this.baseName = name.endsWith(".log") ? name.substring(0, name.length() - 4) : name;
+        this.policy = policy;
+        
+        Files.createDirectories(file.getParent());
+        LocalDate contentDay = Files.exists(file)
+                ? LocalDate.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault())
+                : LocalDate.now();
+        open(contentDay);
+    }
+    
+    /**
+     * Append one entry, rolling the file first if the policy says so
+     */
+    void write(String entry) throws IOException {
+        String line = entry + System.lineSeparator();
+        lock.lock();
+        try {
+            // Length in chars is close enough to bytes for size-based rolling
+            boolean sizeExceeded = policy.getMaxSizeBytes() > 0 && size > 0
+                    && size + line.length() > policy.getMaxSizeBytes();
+            boolean dayChanged = policy.isDaily() && System.currentTimeMillis() >= nextDayStartMillis;
+            if ((sizeExceeded || dayChanged) && System.currentTimeMillis() >= nextRollAttemptMillis) {
+                roll();
+            }
+            out.write(line);
+            size += line.length();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    void flush() throws IOException {
+        lock.lock();
+        try {
+            out.flush();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    void close() throws IOException {
+        lock.lock();
+        try {
+            out.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void open(LocalDate contentDay) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 64 * 1024);
+        this.size = channel.size();
+        this.nextDayStartMillis = contentDay.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private void roll() throws IOException {
+        out.close();
+        
+        LocalDateTime contentTime = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(Math.min(System.currentTimeMillis(), nextDayStartMillis - 1000)),
+                ZoneId.systemDefault());
+        Path rolled = file.resolveSibling(baseName + "-" + contentTime.format(ROLL_SUFFIX) + ".log");
+        for (int i = 1; Files.exists(rolled) || Files.exists(gzipPath(rolled)); i++) {
+            rolled = file.resolveSibling(baseName + "-" + contentTime.format(ROLL_SUFFIX) + "-" + i + ".log");
+        }
+        
+        try {
+            Files.move(file, rolled, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // e.g. no atomic rename here, or the file is locked: keep logging to the active file
+            System.err.println("Failed to roll log " + file + ", retrying in " + ROLL_RETRY_MILLIS / 1000 +
+                    " s: " + e.getMessage());
+            long dayStart = nextDayStartMillis;
+            open(LocalDate.now());
+            nextDayStartMillis = dayStart;
+            nextRollAttemptMillis = System.currentTimeMillis() + ROLL_RETRY_MILLIS;
+            return;
+        }
+        open(LocalDate.now());
+        
+        Path toCompress = rolled;
+        COMPRESSOR.execute(() -> compressAndPrune(toCompress));
+    }
+    
+    private void compressAndPrune(Path rolled) {
+        Path gzip = gzipPath(rolled);
+        Path partial = rolled.resolveSibling(gzip.getFileName() + ".part");
+        try {
+            try (InputStream in = Files.newInputStream(rolled);
+                 OutputStream gz = new GZIPOutputStream(Files.newOutputStream(partial))) {
+                in.transferTo(gz);
+            }
+            Files.move(partial, gzip, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(rolled);
+        } catch (IOException e) {
+            System.err.println("Failed to compress rolled log " + rolled + ": " + e.getMessage());
+        }
+        
+        if (policy.getMaxHistory() > 0) {
+            prune();
+        }
+    }
+    
+    /**
+     * Delete the oldest rolled files beyond maxHistory
+     */
+    private void prune() {
+        List<Path> rolledFiles = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(file.getParent(), baseName + "-*.log*")) {
+            for (Path entry : entries) {
+                if (!entry.getFileName().toString().endsWith(".part")) {
+                    rolledFiles.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to list rolled logs: " + e.getMessage());
+            return;
+        }
+        
+        // Compressed in roll order by a single thread, so modification time orders them
+        rolledFiles.sort(Comparator.comparing(RollingLogFile::lastModified).thenComparing(Comparator.naturalOrder()));
+        for (int i = 0; i < rolledFiles.size() - policy.getMaxHistory(); i++) {
+            try {
+                Files.deleteIfExists(rolledFiles.get(i));
+            } catch (IOException e) {
+                System.err.println("Failed to delete old log " + rolledFiles.get(i) + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+    
+    private static Path gzipPath(Path rolled) {
+        return rolled.resolveSibling(rolled.getFileName() + ".gz");
+    }
+}
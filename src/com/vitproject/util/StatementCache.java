@@ -0,0 +1,155 @@
+package com.vitproject.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements belonging to one physical connection
+ * Keyed by SQL text and generated-keys mode. Callers receive a proxy whose
+ * close() only hands the statement back to the cache; the compiled statement
+ * is really closed when it is evicted or its connection is destroyed.
+ * Not thread-safe: a pooled connection is only used by one borrower at a time.
+ */
+class StatementCache {
+    private static final ClassLogger LOG = Logger.forClass(StatementCache.class);
+    private static final int NO_GENERATED_KEYS_MODE = -1;
+    
+    private final int capacity;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    // Access-ordered, so iteration starts at the least recently used statement
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    
+    StatementCache(int capacity, AtomicLong hits, AtomicLong misses) {
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+    }
+    
+    PreparedStatement prepare(Connection physical, String sql) throws SQLException {
+        return prepare(physical, sql, NO_GENERATED_KEYS_MODE);
+    }
+    
+    PreparedStatement prepare(Connection physical, String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys + ":" + sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            hits.incrementAndGet();
+            cached.inUse = true;
+            return cached.proxy;
+        }
+        
+        misses.incrementAndGet();
+        PreparedStatement statement = autoGeneratedKeys == NO_GENERATED_KEYS_MODE
+                ? physical.prepareStatement(sql)
+                : physical.prepareStatement(sql, autoGeneratedKeys);
+        if (cached != null) {
+            // Same SQL is already checked out (e.g. an open stream); use a one-off statement
+            return statement;
+        }
+        
+        CachedStatement entry = new CachedStatement(statement);
+        entry.inUse = true;
+        statements.put(key, entry);
+        evictOverflow();
+        return entry.proxy;
+    }
+    
+    /**
+     * Close every cached statement; called when the physical connection is destroyed
+     */
+    void closeAll() {
+        List<CachedStatement> all = new ArrayList<>(statements.values());
+        statements.clear();
+        for (CachedStatement entry : all) {
+            entry.closePhysical();
+        }
+    }
+    
+    int size() {
+        return statements.size();
+    }
+    
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CachedStatement>> it = statements.entrySet().iterator();
+        while (statements.size() > capacity && it.hasNext()) {
+            CachedStatement eldest = it.next().getValue();
+            it.remove();
+            if (eldest.inUse) {
+                eldest.evicted = true; // closed for real once its borrower is done
+            } else {
+                eldest.closePhysical();
+            }
+        }
+    }
+    
+    private static class CachedStatement implements InvocationHandler {
+        private final PreparedStatement physical;
+        private final PreparedStatement proxy;
+        private boolean inUse;
+        private boolean evicted;
+        
+        private CachedStatement(PreparedStatement physical) {
+            this.physical = physical;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    StatementCache.class.getClassLoader(),
+                    new Class<?>[] {PreparedStatement.class},
+                    this);
+        }
+        
+        @Override
+        public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (inUse) {
+                        inUse = false;
+                        if (evicted) {
+                            closePhysical();
+                        } else {
+                            physical.clearParameters();
+                            physical.clearBatch();
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return !inUse || physical.isClosed();
+                case "equals":
+                    return target == args[0];
+                case "hashCode":
+                    return System.identityHashCode(target);
+                case "toString":
+                    return "CachedStatement[" + physical + "]";
+                default:
+                    break;
+            }
+            
+            if (!inUse) {
+                throw new SQLException("Statement has already been closed");
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        
+        private void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                LOG.warning("Error closing cached statement: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.vitproject.util;
+
+import java.util.Locale;
+
+/**
+ * Lenient readers for -D settings
+ * A mistyped value falls back to the default with a warning instead of
+ * throwing, so a bad setting cannot stop the application. The warning goes
+ * to stderr because Logger itself is configured through these readers.
+ */
+public final class SystemProperties {
+    
+    private SystemProperties() {}
+    
+    /**
+     * Read an enum-valued property, ignoring case and surrounding spaces
+     * @param defaultValue used when the property is unset or invalid; may be null
+     */
+    public static <E extends Enum<E>> E getEnum(String key, Class<E> type, E defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid value '" + value + "' for -D" + key +
+                    (defaultValue != null ? ", using " + defaultValue : ", ignoring it"));
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.vitproject.util;
+
+import com.vitproject.exception.CustomException;
+import com.vitproject.exception.DatabaseException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit-of-work API for grouping many DAO calls into one database transaction
+ *
+ * While a scope is open on the current thread, DatabaseConnection.getConnection()
+ * returns the scope's connection. DAO calls to commit or close it are ignored,
+ * so everything commits (or rolls back) once when the outermost scope ends.
+ * Nested scopes join the surrounding transaction; if a nested scope fails the
+ * whole transaction is marked rollback-only.
+ *
+ * Work that must only happen once data is durable, such as cache
+ * invalidation, is registered with afterCommit(...).
+ */
+public class TransactionTemplate {
+    private static final ClassLogger LOG = Logger.forClass(TransactionTemplate.class);
+    private static final ThreadLocal<TransactionContext> CURRENT = new ThreadLocal<>();
+    
+    // Private constructor to prevent instantiation
+    private TransactionTemplate() {}
+    
+    /**
+     * Work executed inside a transaction scope
+     */
+    @FunctionalInterface
+    public interface TransactionCallback<T> {
+        T doInTransaction() throws CustomException;
+    }
+    
+    /**
+     * Run work in a transaction, joining the current one if a scope is already open
+     */
+    public static <T> T inTransaction(TransactionCallback<T> work) throws CustomException {
+        TransactionContext context = CURRENT.get();
+        if (context != null) {
+            return joinExisting(context, work);
+        }
+        
+        Connection connection = DatabaseConnection.getConnection();
+        context = new TransactionContext(connection);
+        CURRENT.set(context);
+        try {
+            T result;
+            try {
+                result = work.doInTransaction();
+            } catch (CustomException | RuntimeException | Error e) {
+                rollbackQuietly(connection);
+                throw e;
+            }
+            
+            if (context.rollbackOnly) {
+                DatabaseConnection.rollback(connection);
+                throw new DatabaseException("Transaction rolled back because it was marked rollback-only");
+            }
+            DatabaseConnection.commit(connection);
+            CURRENT.remove();
+            runAfterCommit(context);
+            return result;
+        } finally {
+            CURRENT.remove();
+            closeQuietly(connection);
+        }
+    }
+    
+    /**
+     * Run an action once the current transaction commits, or right away when no scope is open
+     * Actions are discarded if the transaction rolls back.
+     */
+    public static void afterCommit(Runnable action) {
+        TransactionContext context = CURRENT.get();
+        if (context == null) {
+            action.run();
+        } else {
+            context.afterCommit.add(action);
+        }
+    }
+    
+    /**
+     * Whether the current thread is inside a transaction scope
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+    
+    /**
+     * Mark the current transaction so that it rolls back instead of committing
+     */
+    public static void setRollbackOnly() {
+        TransactionContext context = CURRENT.get();
+        if (context == null) {
+            throw new IllegalStateException("No transaction is active on this thread");
+        }
+        context.rollbackOnly = true;
+    }
+    
+    public static boolean isRollbackOnly() {
+        TransactionContext context = CURRENT.get();
+        return context != null && context.rollbackOnly;
+    }
+    
+    /**
+     * Connection of the active scope, or null when no scope is open
+     */
+    static Connection currentConnection() {
+        TransactionContext context = CURRENT.get();
+        return context != null ? context.sharedView : null;
+    }
+    
+    private static <T> T joinExisting(TransactionContext context, TransactionCallback<T> work)
+            throws CustomException {
+        try {
+            return work.doInTransaction();
+        } catch (CustomException | RuntimeException | Error e) {
+            context.rollbackOnly = true;
+            throw e;
+        }
+    }
+    
+    private static void runAfterCommit(TransactionContext context) {
+        for (Runnable action : context.afterCommit) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOG.error("After-commit action failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    private static void rollbackQuietly(Connection connection) {
+        try {
+            DatabaseConnection.rollback(connection);
+        } catch (DatabaseException e) {
+            LOG.error("Failed to rollback: " + e.getMessage());
+        }
+    }
+    
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOG.error("Failed to release transaction connection: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * State of the transaction bound to one thread
+     */
+    private static class TransactionContext {
+        private final Connection sharedView;
+        private final List<Runnable> afterCommit = new ArrayList<>();
+        private boolean rollbackOnly;
+        
+        private TransactionContext(Connection connection) {
+            // DAOs see a view whose close/commit/rollback are left to the scope
+            this.sharedView = (Connection) Proxy.newProxyInstance(
+                    TransactionTemplate.class.getClassLoader(),
+                    new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                            case "commit":
+                                return null;
+                            case "rollback":
+                                if (method.getParameterCount() == 0) {
+                                    rollbackOnly = true;
+                                    return null;
+                                }
+                                break;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                break;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}